@@ -0,0 +1,121 @@
+package it.guesser.algashop.ordering.application.cart;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import it.guesser.algashop.ordering.domain.valueobject.id.CustomerId;
+import it.guesser.algashop.ordering.infrastructure.auditing.AuditingContext;
+
+/*
+ * Serializes the cart commands of each customer through a mailbox drained by one virtual thread at a time:
+ * commands for one cart run one after the other, in submission order, without any lock around the cart,
+ * while different customers run in parallel. Mailboxes only exist while they have work, so the map holds
+ * the carts that are busy right now, not every active cart. Each command runs as the auditor that dispatched it,
+ * since ScopedValue bindings do not follow it onto the drain thread.
+ */
+@Component
+public class CartCommandDispatcher implements DisposableBean {
+
+    private final ConcurrentHashMap<CustomerId, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean closed;
+
+    public <R> CompletableFuture<R> dispatch(CustomerId customerId, Callable<R> command) {
+        requireNonNull(customerId);
+        requireNonNull(command);
+        if (closed) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Cart command dispatcher is shut down"));
+        }
+
+        CompletableFuture<R> result = new CompletableFuture<>();
+        Command<R> task = new Command<>(command, AuditingContext.currentUserId(), result);
+
+        // Enqueue and mailbox creation happen under the map bin lock, the same lock drain() uses to retire it
+        Mailbox[] created = new Mailbox[1];
+        mailboxes.compute(customerId, (id, mailbox) -> {
+            if (mailbox == null) {
+                mailbox = new Mailbox();
+                created[0] = mailbox;
+            }
+            mailbox.commands.add(task);
+            return mailbox;
+        });
+        if (created[0] != null) {
+            Mailbox mailbox = created[0];
+            try {
+                executor.execute(() -> drain(customerId, mailbox));
+            } catch (RejectedExecutionException e) {
+                // destroy() raced with this dispatch, no drain will ever run for the new mailbox
+                reject(customerId, mailbox, e);
+            }
+        }
+        return result;
+    }
+
+    public int busyMailboxes() {
+        return mailboxes.size();
+    }
+
+    private void drain(CustomerId customerId, Mailbox mailbox) {
+        while (true) {
+            Command<?> command = mailbox.commands.poll();
+            if (command != null) {
+                command.run();
+                continue;
+            }
+            // Retire the mailbox only if nothing was enqueued since the poll, otherwise keep draining
+            Mailbox remaining = mailboxes.computeIfPresent(customerId,
+                    (id, current) -> current == mailbox && current.commands.isEmpty() ? null : current);
+            if (remaining != mailbox) {
+                return;
+            }
+        }
+    }
+
+    // Once removed, the mailbox takes no more commands, so failing what it holds leaves nothing behind
+    private void reject(CustomerId customerId, Mailbox mailbox, RejectedExecutionException e) {
+        mailboxes.remove(customerId, mailbox);
+        Command<?> command;
+        while ((command = mailbox.commands.poll()) != null) {
+            command.result().completeExceptionally(e);
+        }
+    }
+
+    // Running mailboxes are drained before close() returns, later dispatches fail right away
+    @Override
+    public void destroy() {
+        closed = true;
+        executor.close();
+    }
+
+    private record Command<R>(Callable<R> callable, UUID auditor, CompletableFuture<R> result) {
+
+        private void run() {
+            try {
+                result.complete(AuditingContext.callAs(auditor, callable::call));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+    }
+
+    private static final class Mailbox {
+
+        private final Queue<Command<?>> commands = new ConcurrentLinkedQueue<>();
+
+    }
+
+}
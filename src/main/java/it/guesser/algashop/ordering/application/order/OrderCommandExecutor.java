@@ -0,0 +1,108 @@
+package it.guesser.algashop.ordering.application.order;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import it.guesser.algashop.ordering.domain.entity.Order;
+import it.guesser.algashop.ordering.domain.exceptions.OrderNotFoundException;
+import it.guesser.algashop.ordering.domain.repository.Orders;
+import it.guesser.algashop.ordering.domain.valueobject.id.OrderId;
+import jakarta.persistence.OptimisticLockException;
+
+/*
+ * Runs a command against one Order as load (Orders.ofId), apply, save in its own transaction.
+ * When the save hits a version conflict the whole cycle is repeated on a freshly loaded order,
+ * after a full-jitter exponential backoff, up to maxAttempts. Domain exceptions are never retried.
+ */
+@Component
+public class OrderCommandExecutor {
+
+    private final Orders orders;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderCommandMetrics metrics;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    @Autowired
+    public OrderCommandExecutor(Orders orders, PlatformTransactionManager transactionManager,
+            OrderCommandMetrics metrics,
+            @Value("${ordering.orders.command-retry.max-attempts:5}") int maxAttempts,
+            @Value("${ordering.orders.command-retry.initial-backoff-millis:10}") long initialBackoffMillis,
+            @Value("${ordering.orders.command-retry.max-backoff-millis:200}") long maxBackoffMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be positive");
+        }
+        this.orders = orders;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Every attempt must see the committed state, so it never joins the caller's transaction
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.metrics = metrics;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    public Order execute(String operation, OrderId orderId, Consumer<Order> command) {
+        requireNonNull(operation);
+        requireNonNull(orderId);
+        requireNonNull(command);
+
+        for (int attempt = 1; ; attempt++) {
+            metrics.attempt(operation);
+            try {
+                return transactionTemplate.execute(status -> {
+                    Order order = orders.ofId(orderId).orElseThrow(() -> new OrderNotFoundException(orderId));
+                    command.accept(order);
+                    orders.save(order);
+                    return order;
+                });
+            } catch (RuntimeException e) {
+                if (!isVersionConflict(e)) {
+                    throw e;
+                }
+                metrics.conflict(operation, orderId);
+                if (attempt == maxAttempts) {
+                    metrics.exhausted(operation);
+                    throw e;
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    private static boolean isVersionConflict(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockingFailureException || cause instanceof OptimisticLockException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Full jitter: a random pause up to the exponential bound, so conflicting callers spread out
+    private void backOff(int attempt) {
+        long bound = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        if (bound <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofMillis(ThreadLocalRandom.current().nextLong(bound + 1)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying order command", e);
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package it.guesser.algashop.ordering.application.order;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import it.guesser.algashop.ordering.domain.valueobject.id.OrderId;
+
+/*
+ * In-process counters of OrderCommandExecutor: attempts, version conflicts and exhausted retries per
+ * operation, plus a bounded view of the orders that conflict the most.
+ */
+@Component
+public class OrderCommandMetrics {
+
+    private final Map<String, Counters> operations = new ConcurrentHashMap<>();
+    private final Cache<OrderId, LongAdder> conflictsByOrder;
+
+    @Autowired
+    public OrderCommandMetrics(@Value("${ordering.orders.command-retry.hot-orders:1000}") long hotOrders) {
+        this.conflictsByOrder = Caffeine.newBuilder().maximumSize(hotOrders).build();
+    }
+
+    public record OperationMetrics(long attempts, long conflicts, long exhausted) {
+
+        public double conflictRate() {
+            return attempts == 0 ? 0 : (double) conflicts / attempts;
+        }
+
+    }
+
+    void attempt(String operation) {
+        counters(operation).attempts.increment();
+    }
+
+    void conflict(String operation, OrderId orderId) {
+        counters(operation).conflicts.increment();
+        conflictsByOrder.get(orderId, id -> new LongAdder()).increment();
+    }
+
+    void exhausted(String operation) {
+        counters(operation).exhausted.increment();
+    }
+
+    public OperationMetrics of(String operation) {
+        Counters counters = operations.get(operation);
+        return counters == null ? new OperationMetrics(0, 0, 0) : counters.snapshot();
+    }
+
+    public Map<String, OperationMetrics> all() {
+        Map<String, OperationMetrics> snapshot = new LinkedHashMap<>();
+        operations.forEach((operation, counters) -> snapshot.put(operation, counters.snapshot()));
+        return snapshot;
+    }
+
+    // Orders with the most conflicts first
+    public Map<OrderId, Long> hottestOrders(int limit) {
+        Map<OrderId, Long> hottest = new LinkedHashMap<>();
+        conflictsByOrder.asMap().entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<OrderId, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .forEachOrdered(entry -> hottest.put(entry.getKey(), entry.getValue()));
+        return hottest;
+    }
+
+    private Counters counters(String operation) {
+        return operations.computeIfAbsent(operation, key -> new Counters());
+    }
+
+    private static final class Counters {
+
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+
+        private OperationMetrics snapshot() {
+            return new OperationMetrics(attempts.sum(), conflicts.sum(), exhausted.sum());
+        }
+
+    }
+
+}
@@ -3,10 +3,10 @@ package it.guesser.algashop.ordering.domain.entity;
 import static it.guesser.algashop.ordering.domain.exceptions.ErrorMessages.REGISTERED_AT_IS_INVALID;
 import static java.util.Objects.requireNonNull;
 
-import java.time.Instant;
 import java.util.UUID;
 
 import it.guesser.algashop.ordering.domain.exceptions.CustomerAlreadyArchivedException;
+import it.guesser.algashop.ordering.domain.utils.DomainClock;
 import it.guesser.algashop.ordering.domain.valueobject.Address;
 import it.guesser.algashop.ordering.domain.valueobject.BirthDate;
 import it.guesser.algashop.ordering.domain.valueobject.Document;
@@ -35,6 +35,7 @@ public class Customer implements AggregateRoot<CustomerId> {
     private long archivedAt;
     private LoyaltyPoints loyaltyPoints;
     private Address address;
+    private long version;
 
     public static Customer brandNew(
             FullName fullName,
@@ -50,7 +51,7 @@ public class Customer implements AggregateRoot<CustomerId> {
                 email,
                 phone,
                 document,
-                Instant.now().toEpochMilli(), // registered at
+                DomainClock.currentTimeMillis(), // registered at
                 false,
                 false,
                 0,
@@ -207,6 +208,10 @@ public class Customer implements AggregateRoot<CustomerId> {
         return address;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     // ============== Businnes methods bellow
 
     public void addLoyaltyPoints(LoyaltyPoints loyaltyPointsToAdd) {
@@ -217,7 +222,7 @@ public class Customer implements AggregateRoot<CustomerId> {
     public void archive() {
         verifyIfChangeable();
         setArchived(true);
-        setArchivedAt(Instant.now().toEpochMilli());
+        setArchivedAt(DomainClock.currentTimeMillis());
         setFullName(ANONYMOUS_FULL_NAME);
         setPhone(ANONYMOUS_PHONE);
         setDocument(ANONYMOUS_DOCUMENT);
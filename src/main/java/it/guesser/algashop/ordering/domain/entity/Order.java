@@ -1,21 +1,25 @@
 package it.guesser.algashop.ordering.domain.entity;
 
-import static it.guesser.algashop.ordering.domain.validator.FieldsValidation.requireNonNullDependency;
+import static it.guesser.algashop.ordering.domain.validator.ValidationResult.accepted;
+import static it.guesser.algashop.ordering.domain.validator.ValidationResult.rejected;
 import static java.util.Objects.requireNonNull;
 
-import java.math.BigDecimal;
-import java.time.Instant;
-import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
-import org.apache.commons.collections.CollectionUtils;
-
 import it.guesser.algashop.ordering.domain.exceptions.OrderCannotBeEditedException;
 import it.guesser.algashop.ordering.domain.exceptions.OrderCannotBePlacedException;
 import it.guesser.algashop.ordering.domain.exceptions.OrderInvalidShippingDeliveryDateException;
 import it.guesser.algashop.ordering.domain.exceptions.OrderItemIdNotFoundInOrderException;
 import it.guesser.algashop.ordering.domain.exceptions.OrderStatusCannotBeChangedException;
+import it.guesser.algashop.ordering.domain.exceptions.ProductOutOfStockException;
+import it.guesser.algashop.ordering.domain.utils.ConsistencyChecks;
+import it.guesser.algashop.ordering.domain.utils.DomainClock;
+import it.guesser.algashop.ordering.domain.validator.ValidationResult;
 import it.guesser.algashop.ordering.domain.valueobject.Billing;
 import it.guesser.algashop.ordering.domain.valueobject.Money;
 import it.guesser.algashop.ordering.domain.valueobject.Product;
@@ -45,9 +49,14 @@ public class Order implements AggregateRoot<OrderId> {
     private PaymentMethod paymentMethod;
 
     private Set<OrderItem> items = new HashSet<>();
+    private Set<OrderItem> itemsView;
+    // Index over items, kept in sync by addLine/removeLine
+    private final Map<OrderItemId, OrderItem> itemsById = new HashMap<>();
 
     private long version;
 
+    // Fields changed since the order was created or loaded, lets persistence write only those
+    private final Set<OrderField> changedFields = EnumSet.noneOf(OrderField.class);
 
     private Order(OrderId id, CustomerId customerId, Money totalAmount, Quantity totalItems, long placedAt, long paidAt,
             long canceledAt, long readyAt, Billing billingInfo, Shipping shipping, OrderStatus status,
@@ -65,6 +74,8 @@ public class Order implements AggregateRoot<OrderId> {
         this.status = requireNonNull(status);
         this.paymentMethod = paymentMethod;
         this.items = requireNonNull(items);
+        this.itemsView = Collections.unmodifiableSet(this.items);
+        this.items.forEach(item -> this.itemsById.put(item.getId(), item));
         this.version = version;
     }
 
@@ -146,48 +157,59 @@ public class Order implements AggregateRoot<OrderId> {
         return paymentMethod;
     }
 
+    // Read-only live view, no copy is made
     public Set<OrderItem> getItems() {
-        return Set.copyOf(items);
+        return itemsView;
     }
 
     private void setTotalAmount(Money totalAmount) {
         this.totalAmount = requireNonNull(totalAmount);
+        changedFields.add(OrderField.TOTALS);
     }
 
     private void setTotalItems(Quantity totalItems) {
         this.totalItems = requireNonNull(totalItems);
+        changedFields.add(OrderField.TOTALS);
     }
 
     private void setPlacedAt(long placedAt) {
         this.placedAt = placedAt;
+        changedFields.add(OrderField.PLACED_AT);
     }
 
     private void setPaidAt(long paidAt) {
         this.paidAt = paidAt;
+        changedFields.add(OrderField.PAID_AT);
     }
 
     private void setCanceledAt(long canceledAt) {
         this.canceledAt = canceledAt;
+        changedFields.add(OrderField.CANCELED_AT);
     }
 
     private void setReadyAt(long readyAt) {
         this.readyAt = readyAt;
+        changedFields.add(OrderField.READY_AT);
     }
 
     private void setBilling(Billing billingInfo) {
         this.billing = requireNonNull(billingInfo);
+        changedFields.add(OrderField.BILLING);
     }
 
     private void setShipping(Shipping shipping) {
         this.shipping = requireNonNull(shipping);
+        changedFields.add(OrderField.SHIPPING);
     }
 
     private void setStatus(OrderStatus status) {
         this.status = requireNonNull(status);
+        changedFields.add(OrderField.STATUS);
     }
 
     private void setPaymentMethod(PaymentMethod paymentMethod) {
         this.paymentMethod = requireNonNull(paymentMethod);
+        changedFields.add(OrderField.PAYMENT_METHOD);
     }
 
     public boolean isDraft() {
@@ -206,40 +228,67 @@ public class Order implements AggregateRoot<OrderId> {
         return this.version;
     }
 
-    public void place() {
-        validateIfCanBePlaced();
+    public Set<OrderField> getChangedFields() {
+        return Collections.unmodifiableSet(changedFields);
+    }
 
-        changeStatus(OrderStatus.PLACED);
-        setPlacedAt(Instant.now().toEpochMilli());
+    public boolean hasChanges() {
+        return !changedFields.isEmpty();
+    }
 
+    // Called by persistence once the changes are written
+    public void clearChangedFields() {
+        changedFields.clear();
     }
 
-    private void validateIfCanBePlaced() {
-        requireNonNullDependency(getShipping(),
-                OrderCannotBePlacedException.noRequiredDependency(getId(), "shipping"));
-        requireNonNullDependency(getBilling(),
-                OrderCannotBePlacedException.noRequiredDependency(getId(), "billingInfo"));
-        requireNonNullDependency(getPaymentMethod(),
-                OrderCannotBePlacedException.noRequiredDependency(getId(), "paymentMethod"));
+    public void place() {
+        tryPlace().orElseThrow();
+    }
 
-        if (CollectionUtils.isEmpty(getItems())) {
-            throw OrderCannotBePlacedException.noItems(getId());
+    // Same rules as place(), but a violation is returned instead of thrown
+    public ValidationResult tryPlace() {
+        ValidationResult result = validateIfCanBePlaced();
+        if (result.isRejected()) {
+            return result;
+        }
+        if (getStatus().canNotChangeTo(OrderStatus.PLACED)) {
+            return rejected(new OrderStatusCannotBeChangedException(getId(), getStatus(), OrderStatus.PLACED));
         }
+
+        setStatus(OrderStatus.PLACED);
+        setPlacedAt(DomainClock.currentTimeMillis());
+        return accepted();
+    }
+
+    private ValidationResult validateIfCanBePlaced() {
+        if (getShipping() == null) {
+            return rejected(OrderCannotBePlacedException.noRequiredDependency(getId(), "shipping"));
+        }
+        if (getBilling() == null) {
+            return rejected(OrderCannotBePlacedException.noRequiredDependency(getId(), "billingInfo"));
+        }
+        if (getPaymentMethod() == null) {
+            return rejected(OrderCannotBePlacedException.noRequiredDependency(getId(), "paymentMethod"));
+        }
+        if (items.isEmpty()) {
+            return rejected(OrderCannotBePlacedException.noItems(getId()));
+        }
+        return accepted();
     }
 
     public void markAsPaid() {
         changeStatus(OrderStatus.PAID);
-        setPaidAt(Instant.now().toEpochMilli());
+        setPaidAt(DomainClock.currentTimeMillis());
     }
 
     public void markAsReady() {
         changeStatus(OrderStatus.READY);
-        setReadyAt(Instant.now().toEpochMilli());
+        setReadyAt(DomainClock.currentTimeMillis());
     }
 
     public void markAsCanceled() {
         changeStatus(OrderStatus.CANCELED);
-        setCanceledAt(Instant.now().toEpochMilli());
+        setCanceledAt(DomainClock.currentTimeMillis());
     }
 
     private void changeStatus(OrderStatus newStatus) {
@@ -252,14 +301,25 @@ public class Order implements AggregateRoot<OrderId> {
     }
 
     public void addItem(Product product, Quantity quantity) {
+        tryAddItem(product, quantity).orElseThrow();
+    }
+
+    // Same rules as addItem(), but a violation is returned instead of thrown
+    public ValidationResult tryAddItem(Product product, Quantity quantity) {
         requireNonNull(product);
         requireNonNull(quantity);
-        verifyIfChangeable();
-        product.checkOutOfStock();
+        if (!isDraft()) {
+            return rejected(new OrderCannotBeEditedException(getId(), getStatus()));
+        }
+        if (!product.inStock()) {
+            return rejected(new ProductOutOfStockException(product.id()));
+        }
 
         OrderItem newOrderItem = OrderItem.brandNew(getId(), product, quantity);
-        this.items.add(newOrderItem);
-        recalculateTotals();
+        addLine(newOrderItem);
+        changedFields.add(OrderField.ITEMS);
+        applyTotalsDelta(Money.ZERO, Quantity.ZERO, newOrderItem.getTotalAmount(), newOrderItem.getQuantity());
+        return accepted();
     }
 
     public void removeItem(OrderItemId orderItemId) {
@@ -267,18 +327,52 @@ public class Order implements AggregateRoot<OrderId> {
         verifyIfChangeable();
 
         OrderItem orderItem = findOrderItemBy(orderItemId);
-        this.items.remove(orderItem);
-        recalculateTotals();
+        removeLine(orderItem);
+        changedFields.add(OrderField.ITEMS);
+        applyTotalsDelta(orderItem.getTotalAmount(), orderItem.getQuantity(), Money.ZERO, Quantity.ZERO);
+    }
+
+    /*
+     * Totals are kept up to date by applying the difference between the old and the new line,
+     * instead of summing every line again on each change.
+     */
+    private void applyTotalsDelta(Money oldAmount, Quantity oldQuantity, Money newAmount, Quantity newQuantity) {
+        setTotalAmount(getTotalAmount().add(newAmount).subtract(oldAmount));
+        setTotalItems(getTotalItems().add(newQuantity).subtract(oldQuantity));
+        verifyTotals();
     }
 
+    /*
+     * Shipping changes are rare and a loaded total may not match the loaded shipping cost (orders stored
+     * before shipping was persisted), so they sum the lines again instead of applying a delta.
+     */
     private void recalculateTotals() {
-        BigDecimal newTotalItemsAmmount = getItems().stream().map(
-                i -> i.getTotalAmount().value()).reduce(BigDecimal.ZERO, BigDecimal::add);
-        Integer newTotalItems = getItems().stream().map(
-                i -> i.getQuantity().value()).reduce(0, Integer::sum);
+        Money amount = getShippingCost();
+        Quantity quantity = Quantity.ZERO;
+        for (OrderItem item : items) {
+            amount = amount.add(item.getTotalAmount());
+            quantity = quantity.add(item.getQuantity());
+        }
+        setTotalAmount(amount);
+        setTotalItems(quantity);
+    }
+
+    private void verifyTotals() {
+        if (!ConsistencyChecks.ENABLED) {
+            return;
+        }
 
-        setTotalAmount(new Money(newTotalItemsAmmount.add(getShippingCost().value())));
-        setTotalItems(new Quantity(newTotalItems));
+        Money expectedAmount = getShippingCost();
+        Quantity expectedItems = Quantity.ZERO;
+        for (OrderItem item : items) {
+            expectedAmount = expectedAmount.add(item.getTotalAmount());
+            expectedItems = expectedItems.add(item.getQuantity());
+        }
+
+        if (!expectedAmount.equals(getTotalAmount()) || !expectedItems.equals(getTotalItems())) {
+            throw new IllegalStateException("Order %s totals are %s/%s but its lines add up to %s/%s".formatted(
+                    getId(), getTotalAmount(), getTotalItems(), expectedAmount, expectedItems));
+        }
     }
 
     public void changePaymentMethod(PaymentMethod newPaymentMethod) {
@@ -299,7 +393,7 @@ public class Order implements AggregateRoot<OrderId> {
         requireNonNull(shipping);
         verifyIfChangeable();
 
-        if (shipping.expectedDate().isBefore(LocalDate.now())) {
+        if (shipping.expectedDate().isBefore(DomainClock.today())) {
             throw new OrderInvalidShippingDeliveryDateException(getId());
         }
 
@@ -313,9 +407,12 @@ public class Order implements AggregateRoot<OrderId> {
         verifyIfChangeable();
 
         OrderItem orderItem = findOrderItemBy(orderItemId);
+        Money oldAmount = orderItem.getTotalAmount();
+        Quantity oldQuantity = orderItem.getQuantity();
         orderItem.changeQuantity(newQuantity);
+        changedFields.add(OrderField.ITEMS);
 
-        recalculateTotals();
+        applyTotalsDelta(oldAmount, oldQuantity, orderItem.getTotalAmount(), orderItem.getQuantity());
     }
 
     private void changeVersion(long version) {
@@ -325,10 +422,21 @@ public class Order implements AggregateRoot<OrderId> {
     private OrderItem findOrderItemBy(OrderItemId orderItemId) {
         requireNonNull(orderItemId);
 
-        return getItems().stream()
-                .filter(oi -> oi.getId().equals(orderItemId))
-                .findFirst()
-                .orElseThrow(() -> new OrderItemIdNotFoundInOrderException(orderItemId, getId()));
+        OrderItem orderItem = itemsById.get(orderItemId);
+        if (orderItem == null) {
+            throw new OrderItemIdNotFoundInOrderException(orderItemId, getId());
+        }
+        return orderItem;
+    }
+
+    private void addLine(OrderItem orderItem) {
+        items.add(orderItem);
+        itemsById.put(orderItem.getId(), orderItem);
+    }
+
+    private void removeLine(OrderItem orderItem) {
+        items.remove(orderItem);
+        itemsById.remove(orderItem.getId());
     }
 
     private void verifyIfChangeable() {
@@ -0,0 +1,19 @@
+package it.guesser.algashop.ordering.domain.entity;
+
+/*
+ * Logical fields of an Order, used to track what changed since it was loaded.
+ */
+public enum OrderField {
+
+    STATUS,
+    PAYMENT_METHOD,
+    PLACED_AT,
+    PAID_AT,
+    CANCELED_AT,
+    READY_AT,
+    BILLING,
+    SHIPPING,
+    TOTALS,
+    ITEMS;
+
+}
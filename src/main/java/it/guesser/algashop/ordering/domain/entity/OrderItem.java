@@ -50,6 +50,11 @@ public class OrderItem {
                 product.price().multiply(quantity));
     }
 
+    public static OrderItem ofExistent(OrderItemId id, OrderId orderId, ProductId productId, ProductName productName,
+            Money price, Quantity quantity, Money totalAmount) {
+        return new OrderItem(id, orderId, productId, productName, price, quantity, totalAmount);
+    }
+
     public OrderItemId getId() {
         return id;
     }
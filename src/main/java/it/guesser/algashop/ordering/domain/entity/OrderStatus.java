@@ -1,47 +1,65 @@
 package it.guesser.algashop.ordering.domain.entity;
 
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Set;
 
 public enum OrderStatus {
-    DRAFT {
-        @Override
-        public Set<OrderStatus> allowedTransitions() {
-            return Set.of(PLACED, CANCELED);
-        }
-    },
-    PLACED {
-        @Override
-        public Set<OrderStatus> allowedTransitions() {
-            return Set.of(PAID, CANCELED);
-        }
-    },
-    PAID {
-        @Override
-        public Set<OrderStatus> allowedTransitions() {
-            return Set.of(READY, CANCELED);
-        }
-    },
-    READY {
-        @Override
-        public Set<OrderStatus> allowedTransitions() {
-            return Set.of(CANCELED);
+    DRAFT,
+    PLACED,
+    PAID,
+    READY,
+    CANCELED;
+
+    // Precomputed once: allowed targets and sources per status, plus the targets as a bitmask over ordinals
+    private Set<OrderStatus> allowedTransitions;
+    private Set<OrderStatus> allowedSources;
+    private int allowedTransitionsMask;
+
+    static {
+        allow(DRAFT, PLACED, CANCELED);
+        allow(PLACED, PAID, CANCELED);
+        allow(PAID, READY, CANCELED);
+        allow(READY, CANCELED);
+        allow(CANCELED);
+
+        for (OrderStatus target : values()) {
+            EnumSet<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+            for (OrderStatus source : values()) {
+                if (source.canChangeTo(target)) {
+                    sources.add(source);
+                }
+            }
+            target.allowedSources = Collections.unmodifiableSet(sources);
         }
-    },
-    CANCELED {
-        @Override
-        public Set<OrderStatus> allowedTransitions() {
-            return Set.of();
+    }
+
+    private static void allow(OrderStatus source, OrderStatus... targets) {
+        EnumSet<OrderStatus> transitions = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus target : targets) {
+            transitions.add(target);
+            source.allowedTransitionsMask |= 1 << target.ordinal();
         }
-    };
+        source.allowedTransitions = Collections.unmodifiableSet(transitions);
+    }
 
-    public abstract Set<OrderStatus> allowedTransitions();
+    public Set<OrderStatus> allowedTransitions() {
+        return allowedTransitions;
+    }
+
+    // Statuses that are allowed to change to this one
+    public Set<OrderStatus> allowedSources() {
+        return allowedSources;
+    }
 
     public boolean canChangeTo(OrderStatus next) {
-        return allowedTransitions().contains(next);
+        return (allowedTransitionsMask & (1 << requireNonNull(next).ordinal())) != 0;
     }
 
     public boolean canNotChangeTo(OrderStatus next) {
         return !canChangeTo(next);
     }
 
-}
\ No newline at end of file
+}
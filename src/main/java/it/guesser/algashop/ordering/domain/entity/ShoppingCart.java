@@ -2,16 +2,22 @@ package it.guesser.algashop.ordering.domain.entity;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import it.guesser.algashop.ordering.domain.exceptions.ProductOutOfStockException;
 import it.guesser.algashop.ordering.domain.exceptions.ShoppingCartItemNotFoundException;
+import it.guesser.algashop.ordering.domain.utils.ConsistencyChecks;
+import it.guesser.algashop.ordering.domain.validator.ValidationResult;
 import it.guesser.algashop.ordering.domain.valueobject.Money;
 import it.guesser.algashop.ordering.domain.valueobject.Product;
 import it.guesser.algashop.ordering.domain.valueobject.Quantity;
 import it.guesser.algashop.ordering.domain.valueobject.id.CustomerId;
+import it.guesser.algashop.ordering.domain.valueobject.id.ProductId;
 import it.guesser.algashop.ordering.domain.valueobject.id.ShoppingCartId;
 import it.guesser.algashop.ordering.domain.valueobject.id.ShoppingCartItemId;
 
@@ -22,7 +28,12 @@ public class ShoppingCart implements AggregateRoot<ShoppingCartId>{
     private Money totalAmount = Money.ZERO;
     private Quantity totalItems = Quantity.ZERO;
     private long createdAt;
-    private Set<ShoppingCartItem> items = new HashSet<>();
+    private final Set<ShoppingCartItem> items = new HashSet<>();
+    private final Set<ShoppingCartItem> itemsView = Collections.unmodifiableSet(items);
+    // Indexes over items, kept in sync by addLine/removeLine
+    private final Map<ShoppingCartItemId, ShoppingCartItem> itemsById = new HashMap<>();
+    private final Map<ProductId, ShoppingCartItem> itemsByProductId = new HashMap<>();
+    private long version;
 
     private ShoppingCart(ShoppingCartId id, CustomerId customerId) {
         this.id = requireNonNull(id);
@@ -53,8 +64,13 @@ public class ShoppingCart implements AggregateRoot<ShoppingCartId>{
         return createdAt;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    // Read-only live view, no copy is made
     public Set<ShoppingCartItem> getItems() {
-        return Set.copyOf(items);
+        return itemsView;
     }
 
     private void setTotalItems(Quantity newTotalItems) {
@@ -67,88 +83,134 @@ public class ShoppingCart implements AggregateRoot<ShoppingCartId>{
 
     public void clear() {
         this.items.clear();
-        recalculateTotals();
+        this.itemsById.clear();
+        this.itemsByProductId.clear();
+        setTotalItems(Quantity.ZERO);
+        setTotalAmount(Money.ZERO);
     }
 
-    private void recalculateTotals() {
-        Quantity newTotalItems = getItems().stream()
-                .map(sci -> sci.getQuantity())
-                .reduce(Quantity.ZERO, Quantity::add);
-        Money newTotalAmount = getItems().stream()
-                .map(sci -> sci.getTotalAmount())
-                .reduce(Money.ZERO, Money::add);
+    /*
+     * Totals are kept up to date by applying the difference between the old and the new line,
+     * instead of summing every line again on each change.
+     */
+    private void applyTotalsDelta(Money oldAmount, Quantity oldQuantity, Money newAmount, Quantity newQuantity) {
+        setTotalItems(getTotalItems().add(newQuantity).subtract(oldQuantity));
+        setTotalAmount(getTotalAmount().add(newAmount).subtract(oldAmount));
+        verifyTotals();
+    }
+
+    private void verifyTotals() {
+        if (!ConsistencyChecks.ENABLED) {
+            return;
+        }
+
+        Quantity expectedItems = Quantity.ZERO;
+        Money expectedAmount = Money.ZERO;
+        for (ShoppingCartItem item : items) {
+            expectedItems = expectedItems.add(item.getQuantity());
+            expectedAmount = expectedAmount.add(item.getTotalAmount());
+        }
 
-        setTotalItems(newTotalItems);
-        setTotalAmount(newTotalAmount);
+        if (!expectedAmount.equals(getTotalAmount()) || !expectedItems.equals(getTotalItems())) {
+            throw new IllegalStateException("Shopping cart %s totals are %s/%s but its items add up to %s/%s"
+                    .formatted(getId(), getTotalAmount(), getTotalItems(), expectedAmount, expectedItems));
+        }
     }
 
     public void addItem(Product product, Quantity quantity) {
+        tryAddItem(product, quantity).orElseThrow();
+    }
+
+    // Same rules as addItem(), but a violation is returned instead of thrown
+    public ValidationResult tryAddItem(Product product, Quantity quantity) {
         requireNonNull(product);
         requireNonNull(quantity);
-        verifyIfProductInStock(product);
+        if (!product.inStock()) {
+            return ValidationResult.rejected(new ProductOutOfStockException(product.id()));
+        }
 
         Optional<ShoppingCartItem> cartItemByProduct = findByProduct(product);
         cartItemByProduct.ifPresentOrElse(
                 // UPDATES QUANTITY OF EXISTITING SHOPPING CART ITEM AND REFRESH PRODUCT VALUES
                 shoppingCartItem -> {
+                    Money oldAmount = shoppingCartItem.getTotalAmount();
+                    Quantity oldQuantity = shoppingCartItem.getQuantity();
                     shoppingCartItem.changeQuantity(shoppingCartItem.getQuantity().add(quantity));
                     shoppingCartItem.refresh(product);
+                    applyTotalsDelta(oldAmount, oldQuantity, shoppingCartItem.getTotalAmount(),
+                            shoppingCartItem.getQuantity());
                 }, () -> {
                     // ADDS NEW SHOPPING CART ITEM
-                    items.add(ShoppingCartItem.brandNew(getId(), product, quantity));
+                    ShoppingCartItem shoppingCartItem = ShoppingCartItem.brandNew(getId(), product, quantity);
+                    addLine(shoppingCartItem);
+                    applyTotalsDelta(Money.ZERO, Quantity.ZERO, shoppingCartItem.getTotalAmount(),
+                            shoppingCartItem.getQuantity());
                 });
-
-        recalculateTotals();
+        return ValidationResult.accepted();
     }
 
     public void removeItem(ShoppingCartItemId shoppingCartItemId) {
         ShoppingCartItem shoppingCartItem = getByShoppingCartItemId(shoppingCartItemId);
 
-        this.items.remove(shoppingCartItem);
+        removeLine(shoppingCartItem);
 
-        recalculateTotals();
+        applyTotalsDelta(shoppingCartItem.getTotalAmount(), shoppingCartItem.getQuantity(), Money.ZERO,
+                Quantity.ZERO);
     }
 
     public void refreshItem(Product product) {
-        findByProduct(product).ifPresent(
-                sci -> sci.refresh(product));
-
-        recalculateTotals();
+        findByProduct(product).ifPresent(sci -> {
+            Money oldAmount = sci.getTotalAmount();
+            sci.refresh(product);
+            applyTotalsDelta(oldAmount, Quantity.ZERO, sci.getTotalAmount(), Quantity.ZERO);
+        });
     }
 
     public void changeItemQuantity(ShoppingCartItemId shoppingCartItemId, Quantity quantity) {
         ShoppingCartItem shoppingCartItem = getByShoppingCartItemId(shoppingCartItemId);
+        Money oldAmount = shoppingCartItem.getTotalAmount();
+        Quantity oldQuantity = shoppingCartItem.getQuantity();
         shoppingCartItem.changeQuantity(quantity);
 
-        recalculateTotals();
+        applyTotalsDelta(oldAmount, oldQuantity, shoppingCartItem.getTotalAmount(), shoppingCartItem.getQuantity());
     }
 
     public boolean containsUnavailableItems() {
-        return getItems().stream()
-                .map(sci -> sci.getProduct())
-                .anyMatch(product -> Boolean.FALSE.equals(product.inStock()));
+        for (ShoppingCartItem item : items) {
+            if (!item.getProduct().inStock()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public boolean isEmpty() {
-        return getItems().isEmpty();
+        return items.isEmpty();
     }
 
     private ShoppingCartItem getByShoppingCartItemId(ShoppingCartItemId shoppingCartItemId) {
-        return getItems().stream()
-                .filter(sci -> sci.getId().equals(shoppingCartItemId)).findFirst()
-                .orElseThrow(() -> new ShoppingCartItemNotFoundException(shoppingCartItemId, getId()));
+        ShoppingCartItem shoppingCartItem = itemsById.get(shoppingCartItemId);
+        if (shoppingCartItem == null) {
+            throw new ShoppingCartItemNotFoundException(shoppingCartItemId, getId());
+        }
+        return shoppingCartItem;
     }
 
+    // By product id only: a product whose price or stock changed is still the same line
     private Optional<ShoppingCartItem> findByProduct(Product product) {
-        return getItems().stream()
-                .filter(sci -> sci.getProduct().equals(product))
-                .findFirst();
+        return Optional.ofNullable(itemsByProductId.get(product.id()));
     }
 
-    private void verifyIfProductInStock(Product product) {
-        if (!product.inStock()) {
-            throw new ProductOutOfStockException(product.id());
-        }
+    private void addLine(ShoppingCartItem shoppingCartItem) {
+        items.add(shoppingCartItem);
+        itemsById.put(shoppingCartItem.getId(), shoppingCartItem);
+        itemsByProductId.put(shoppingCartItem.getProduct().id(), shoppingCartItem);
+    }
+
+    private void removeLine(ShoppingCartItem shoppingCartItem) {
+        items.remove(shoppingCartItem);
+        itemsById.remove(shoppingCartItem.getId());
+        itemsByProductId.remove(shoppingCartItem.getProduct().id());
     }
 
     @Override
@@ -1,13 +1,41 @@
 package it.guesser.algashop.ordering.domain.exceptions;
 
+/*
+ * Domain rule violations are expected outcomes (e.g. out of stock during a sale), not bugs:
+ * no stack trace is captured and the message is only formatted when someone asks for it.
+ */
 public class DomainException extends RuntimeException {
 
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final String messageTemplate;
+    private final Object[] messageArgs;
+    private String message;
+
     public DomainException(String message) {
-        super(message);
+        this(message, NO_ARGS);
     }
 
     public DomainException(String message, Throwable throwable) {
-        super(message, throwable);
+        super(null, throwable, false, false);
+        this.messageTemplate = message;
+        this.messageArgs = NO_ARGS;
+    }
+
+    protected DomainException(String messageTemplate, Object... messageArgs) {
+        super(null, null, false, false);
+        this.messageTemplate = messageTemplate;
+        this.messageArgs = messageArgs;
+    }
+
+    @Override
+    public String getMessage() {
+        String formatted = message;
+        if (formatted == null && messageTemplate != null) {
+            formatted = messageArgs.length == 0 ? messageTemplate : String.format(messageTemplate, messageArgs);
+            message = formatted;
+        }
+        return formatted;
     }
 
 }
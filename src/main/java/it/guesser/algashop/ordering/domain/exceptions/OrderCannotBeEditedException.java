@@ -6,7 +6,7 @@ import it.guesser.algashop.ordering.domain.valueobject.id.OrderId;
 public class OrderCannotBeEditedException extends DomainException {
 
     public OrderCannotBeEditedException(OrderId orderId, OrderStatus status) {
-        super(String.format(ErrorMessages.ERROR_ORDER_CANNOT_BE_EDITED, orderId, status));
+        super(ErrorMessages.ERROR_ORDER_CANNOT_BE_EDITED, orderId, status);
     }
 
 }
@@ -4,17 +4,17 @@ import it.guesser.algashop.ordering.domain.valueobject.id.OrderId;
 
 public class OrderCannotBePlacedException extends DomainException {
 
-    private OrderCannotBePlacedException(String message) {
-        super(message);
+    private OrderCannotBePlacedException(String messageTemplate, Object... messageArgs) {
+        super(messageTemplate, messageArgs);
     }
 
     public static OrderCannotBePlacedException noItems(OrderId id) {
-        return new OrderCannotBePlacedException(String.format(ErrorMessages.ORDER_CANNOT_BE_PLACED_NO_ITEMS, id));
+        return new OrderCannotBePlacedException(ErrorMessages.ORDER_CANNOT_BE_PLACED_NO_ITEMS, id);
     }
 
     public static OrderCannotBePlacedException noRequiredDependency(OrderId id, String dependency) {
-        return new OrderCannotBePlacedException(
-                String.format(ErrorMessages.ORDER_CANNOT_BE_PLACED_NO_REQUIRED_DEPENDENCY, id, dependency));
+        return new OrderCannotBePlacedException(ErrorMessages.ORDER_CANNOT_BE_PLACED_NO_REQUIRED_DEPENDENCY, id,
+                dependency);
     }
 
 }
@@ -9,7 +9,7 @@ public class OrderInvalidShippingDeliveryDateException extends DomainException {
     }
 
     public OrderInvalidShippingDeliveryDateException(OrderId id) {
-        super(String.format(ErrorMessages.ORDER_DELIVER_DATE_CANNOT_BE_IN_THE_PAST, id));
+        super(ErrorMessages.ORDER_DELIVER_DATE_CANNOT_BE_IN_THE_PAST, id);
     }
 
 }
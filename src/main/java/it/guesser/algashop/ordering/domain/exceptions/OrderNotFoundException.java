@@ -0,0 +1,11 @@
+package it.guesser.algashop.ordering.domain.exceptions;
+
+import it.guesser.algashop.ordering.domain.valueobject.id.OrderId;
+
+public class OrderNotFoundException extends DomainException {
+
+    public OrderNotFoundException(OrderId id) {
+        super(ErrorMessages.ORDER_NOT_FOUND, id);
+    }
+
+}
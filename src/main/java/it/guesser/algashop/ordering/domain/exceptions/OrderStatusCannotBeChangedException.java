@@ -10,7 +10,7 @@ public class OrderStatusCannotBeChangedException extends DomainException {
     }
 
     public OrderStatusCannotBeChangedException(OrderId id, OrderStatus status, OrderStatus newStatus) {
-        super(String.format(ErrorMessages.STATUS_CHANGE_NOT_ALLOWED, id, status, newStatus));
+        super(ErrorMessages.STATUS_CHANGE_NOT_ALLOWED, id, status, newStatus);
     }
 
 }
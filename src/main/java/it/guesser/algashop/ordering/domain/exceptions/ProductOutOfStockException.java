@@ -5,7 +5,7 @@ import it.guesser.algashop.ordering.domain.valueobject.id.ProductId;
 public class ProductOutOfStockException extends DomainException {
 
     public ProductOutOfStockException(ProductId id) {
-        super(String.format(ErrorMessages.PRODUCT_OUT_OF_STOCK, id));
+        super(ErrorMessages.PRODUCT_OUT_OF_STOCK, id);
     }
 
 }
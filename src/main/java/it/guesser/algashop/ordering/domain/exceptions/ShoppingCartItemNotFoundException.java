@@ -6,7 +6,7 @@ import it.guesser.algashop.ordering.domain.valueobject.id.ShoppingCartItemId;
 public class ShoppingCartItemNotFoundException extends DomainException {
 
     public ShoppingCartItemNotFoundException(ShoppingCartItemId shoppingCartItemId, ShoppingCartId shoppingCartId) {
-        super(String.format(ErrorMessages.SHOPPING_CART_ITEM_NOT_FOUND, shoppingCartItemId, shoppingCartId));
+        super(ErrorMessages.SHOPPING_CART_ITEM_NOT_FOUND, shoppingCartItemId, shoppingCartId);
     }
 
 }
@@ -1,8 +1,20 @@
 package it.guesser.algashop.ordering.domain.repository;
 
+import java.util.Optional;
+
 import it.guesser.algashop.ordering.domain.entity.Customer;
+import it.guesser.algashop.ordering.domain.valueobject.Document;
+import it.guesser.algashop.ordering.domain.valueobject.Email;
 import it.guesser.algashop.ordering.domain.valueobject.id.CustomerId;
 
 public interface Customers extends Repository<Customer, CustomerId> {
 
+    // Case insensitive
+    Optional<Customer> ofEmail(Email email);
+
+    // Ignores formatting punctuation, archived customers are never found by document
+    Optional<Customer> ofDocument(Document document);
+
+    boolean isEmailInUse(Email email);
+
 }
@@ -0,0 +1,34 @@
+package it.guesser.algashop.ordering.domain.repository;
+
+import static java.util.Objects.requireNonNull;
+
+import it.guesser.algashop.ordering.domain.entity.OrderStatus;
+import it.guesser.algashop.ordering.domain.valueobject.Money;
+import it.guesser.algashop.ordering.domain.valueobject.Quantity;
+import it.guesser.algashop.ordering.domain.valueobject.id.CustomerId;
+import it.guesser.algashop.ordering.domain.valueobject.id.OrderId;
+
+/*
+ * Read-only view of an order for listings and reports, built straight from the selected columns
+ * without hydrating the Order aggregate.
+ */
+public record OrderSummary(
+        OrderId id,
+        CustomerId customerId,
+        OrderStatus status,
+        Money totalAmount,
+        Quantity totalItems,
+        long placedAt,
+        long paidAt,
+        long canceledAt,
+        long readyAt) {
+
+    public OrderSummary {
+        requireNonNull(id);
+        requireNonNull(customerId);
+        requireNonNull(status);
+        requireNonNull(totalAmount);
+        requireNonNull(totalItems);
+    }
+
+}
@@ -1,8 +1,39 @@
 package it.guesser.algashop.ordering.domain.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
 import it.guesser.algashop.ordering.domain.entity.Order;
+import it.guesser.algashop.ordering.domain.entity.OrderStatus;
+import it.guesser.algashop.ordering.domain.valueobject.id.CustomerId;
 import it.guesser.algashop.ordering.domain.valueobject.id.OrderId;
+import jakarta.annotation.Nullable;
 
 public interface Orders extends Repository<Order, OrderId> {
 
+    /*
+     * Keyset page of the customer orders, oldest first.
+     * Pass the id of the last order of the previous page as cursor, or null for the first page.
+     */
+    List<Order> ofCustomer(CustomerId customerId, @Nullable OrderId cursor, int limit);
+
+    /*
+     * All orders of the customer, oldest first, read page by page while the stream is consumed.
+     */
+    Stream<Order> streamOfCustomer(CustomerId customerId);
+
+    /*
+     * Same keyset paging as ofCustomer, returning summaries instead of aggregates.
+     */
+    List<OrderSummary> summariesOfCustomer(CustomerId customerId, @Nullable OrderId cursor, int limit);
+
+    /*
+     * Moves a batch of orders to PAID, READY or CANCELED with set-based updates instead of one save per order.
+     * Returns the ids that were not changed, either because they do not exist or because their
+     * current status cannot change to the new one.
+     */
+    Set<OrderId> changeStatus(Collection<OrderId> ids, OrderStatus newStatus);
+
 }
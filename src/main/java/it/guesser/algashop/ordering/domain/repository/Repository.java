@@ -1,6 +1,9 @@
 package it.guesser.algashop.ordering.domain.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import it.guesser.algashop.ordering.domain.entity.AggregateRoot;
 
@@ -8,10 +11,16 @@ public interface Repository<T extends AggregateRoot<ID>, ID> {
 
     Optional<T> ofId(ID id);
 
+    List<T> ofIds(Collection<ID> ids);
+
     boolean exists(ID id);
 
+    Set<ID> existing(Collection<ID> ids);
+
     void save(T aggregateRoot);
 
+    void saveAll(Collection<T> aggregateRoots);
+
     long count();
 
 }
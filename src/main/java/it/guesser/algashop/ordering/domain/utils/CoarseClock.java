@@ -0,0 +1,86 @@
+package it.guesser.algashop.ordering.domain.utils;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * Millisecond clock read from a volatile field that a daemon thread refreshes once per resolution,
+ * so callers never hit the OS clock. Readings can lag the real time by up to one resolution.
+ */
+public final class CoarseClock extends Clock implements AutoCloseable {
+
+    private final Ticker ticker;
+    private final ZoneId zone;
+
+    public CoarseClock(Duration resolution) {
+        this(new Ticker(resolution), ZoneId.systemDefault());
+    }
+
+    private CoarseClock(Ticker ticker, ZoneId zone) {
+        this.ticker = ticker;
+        this.zone = requireNonNull(zone);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    // Zoned copies share the same ticker thread
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this.zone.equals(zone) ? this : new CoarseClock(ticker, zone);
+    }
+
+    @Override
+    public long millis() {
+        return ticker.millis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(ticker.millis);
+    }
+
+    // Stops the ticker, the clock stays at its last reading afterwards
+    @Override
+    public void close() {
+        ticker.stop();
+    }
+
+    private static final class Ticker implements Runnable {
+
+        private final long resolutionNanos;
+        private final Thread thread;
+        private volatile long millis = System.currentTimeMillis();
+        private volatile boolean running = true;
+
+        private Ticker(Duration resolution) {
+            if (requireNonNull(resolution).isNegative() || resolution.isZero()) {
+                throw new IllegalArgumentException("Clock resolution must be positive");
+            }
+            this.resolutionNanos = resolution.toNanos();
+            this.thread = Thread.ofPlatform().daemon().name("coarse-clock-ticker").start(this);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                millis = System.currentTimeMillis();
+                LockSupport.parkNanos(resolutionNanos);
+            }
+        }
+
+        private void stop() {
+            running = false;
+            LockSupport.unpark(thread);
+        }
+
+    }
+
+}
@@ -0,0 +1,15 @@
+package it.guesser.algashop.ordering.domain.utils;
+
+/*
+ * Debug only verifications of incrementally maintained state, enabled with
+ * -Dalgashop.domain.consistency-checks=true (the unit tests run with it on).
+ */
+public class ConsistencyChecks {
+
+    public static final boolean ENABLED = Boolean.getBoolean("algashop.domain.consistency-checks");
+
+    private ConsistencyChecks() {
+
+    }
+
+}
@@ -0,0 +1,60 @@
+package it.guesser.algashop.ordering.domain.utils;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/*
+ * Single source of "now" for domain timestamps (aggregates and their persistence callbacks), never for ids:
+ * the id generators always read the system clock. Defaults to the system clock; the application may install
+ * a CoarseClock once at startup (use), while tests and replays of order histories bind a ManualClock to their
+ * own scope only (runWith/callWith), so parallel callers keep seeing the process-wide clock.
+ */
+public class DomainClock {
+
+    private static final Clock SYSTEM_CLOCK = Clock.systemDefaultZone();
+    private static final ScopedValue<Clock> SCOPED_CLOCK = ScopedValue.newInstance();
+
+    private static volatile Clock clock = SYSTEM_CLOCK;
+
+    private DomainClock() {
+
+    }
+
+    public static Clock get() {
+        return SCOPED_CLOCK.orElse(clock);
+    }
+
+    // Process-wide clock, meant for the application configuration only
+    public static void use(Clock newClock) {
+        clock = requireNonNull(newClock);
+    }
+
+    public static void reset() {
+        clock = SYSTEM_CLOCK;
+    }
+
+    public static void runWith(Clock scopedClock, Runnable operation) {
+        ScopedValue.where(SCOPED_CLOCK, requireNonNull(scopedClock)).run(operation);
+    }
+
+    public static <R, X extends Throwable> R callWith(Clock scopedClock,
+            ScopedValue.CallableOp<? extends R, X> operation) throws X {
+        return ScopedValue.where(SCOPED_CLOCK, requireNonNull(scopedClock)).call(operation);
+    }
+
+    public static long currentTimeMillis() {
+        return get().millis();
+    }
+
+    public static Instant now() {
+        return get().instant();
+    }
+
+    public static LocalDate today() {
+        return LocalDate.now(get());
+    }
+
+}
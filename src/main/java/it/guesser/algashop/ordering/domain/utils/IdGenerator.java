@@ -1,34 +1,122 @@
-package it.guesser.algashop.ordering.domain.utils;
-
-import java.util.UUID;
-
-import com.fasterxml.uuid.Generators;
-import com.fasterxml.uuid.impl.TimeBasedEpochRandomGenerator;
-
-import io.hypersistence.tsid.TSID;
-
-public class IdGenerator {
-
-    private static final TimeBasedEpochRandomGenerator TIME_BASED_EPOCH_RANDOM_GENERATOR = Generators
-            .timeBasedEpochRandomGenerator();
-
-    private static final TSID.Factory TSID_FACTORY = TSID.Factory.INSTANCE;
-
-    private IdGenerator() {
-
-    }
-
-    public static UUID generateTimeBasedUuid() {
-        return TIME_BASED_EPOCH_RANDOM_GENERATOR.generate();
-    }
-
-    /*
-     * Important: required env variables!
-     * TSID_NODE
-     * TSID_NODE_COUNT
-     */
-    public static TSID generateTSID() {
-        return TSID_FACTORY.generate();
-    }
-
-}
+package it.guesser.algashop.ordering.domain.utils;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.hypersistence.tsid.TSID;
+
+public class IdGenerator {
+
+    // Enough stripes that cart writes running on every core rarely meet on one
+    private static final StripedTimeBasedUuidGenerator TIME_BASED_UUID_GENERATOR = new StripedTimeBasedUuidGenerator(
+            bitsFor(4 * Runtime.getRuntime().availableProcessors()));
+
+    private static final int DEFAULT_NODE_COUNT = 1024;
+    private static final int DEFAULT_STRIPE_BITS = 2;
+    private static final int MAX_NODE_BITS = 20;
+
+    /*
+     * One node field layout for every instance, whether its node comes from TSID_NODE or from a lease,
+     * so ids of differently configured instances never overlap:
+     * TSID_NODE_COUNT (default 1024) sets the node bits, TSID_STRIPE_BITS (default 2) the stripe bits.
+     */
+    private static final int TSID_NODE_BITS = Math.min(MAX_NODE_BITS,
+            32 - Integer.numberOfLeadingZeros(Math.max(1, setting("tsid.node.count", "TSID_NODE_COUNT",
+                    DEFAULT_NODE_COUNT)) - 1));
+    private static final int TSID_STRIPE_BITS = Math.clamp(
+            setting("tsid.stripe.bits", "TSID_STRIPE_BITS", DEFAULT_STRIPE_BITS), 0, MAX_NODE_BITS - TSID_NODE_BITS);
+
+    /*
+     * Important: required env variable, unless a leased factory was installed with useTsidFactory!
+     * TSID_NODE
+     */
+    private static final StripedTsidFactory SHARED_TSID_FACTORY = sharedTsidFactory();
+
+    private static volatile StripedTsidFactory tsidFactory = SHARED_TSID_FACTORY;
+
+    private IdGenerator() {
+
+    }
+
+    public static UUID generateTimeBasedUuid() {
+        return TIME_BASED_UUID_GENERATOR.generate();
+    }
+
+    // Consecutive time-based UUIDs for bulk loaders, see TimeBasedUuidBlock
+    public static TimeBasedUuidBlock reserveTimeBasedUuids(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        return new TimeBasedUuidBlock(generateTimeBasedUuid(), count);
+    }
+
+    public static TSID generateTSID() {
+        return tsidFactory.generate();
+    }
+
+    // Contiguous TSIDs for bulk loaders, at most maxTsidBlockSize() per block
+    public static TsidBlock reserveTSIDs(int count) {
+        return tsidFactory.reserve(count);
+    }
+
+    public static int maxTsidBlockSize() {
+        return tsidFactory.blockCapacity();
+    }
+
+    public static int tsidNodeBits() {
+        return TSID_NODE_BITS;
+    }
+
+    public static int tsidStripeBits() {
+        return TSID_STRIPE_BITS;
+    }
+
+    // True when the node was set explicitly, which would clash with a leased one
+    public static boolean isTsidNodeConfigured() {
+        return settingValue("tsid.node", "TSID_NODE") != null;
+    }
+
+    public static void useStripedTsid(int node, int nodeBits, int stripeBits) {
+        useTsidFactory(new StripedTsidFactory(node, nodeBits, stripeBits));
+    }
+
+    public static void useTsidFactory(StripedTsidFactory factory) {
+        tsidFactory = requireNonNull(factory);
+    }
+
+    public static void useSharedTsid() {
+        tsidFactory = SHARED_TSID_FACTORY;
+    }
+
+    // Node from TSID_NODE, random like TSID.Factory.INSTANCE when missing
+    private static StripedTsidFactory sharedTsidFactory() {
+        int nodeMask = (1 << TSID_NODE_BITS) - 1;
+        int node = setting("tsid.node", "TSID_NODE", ThreadLocalRandom.current().nextInt(nodeMask + 1));
+        return new StripedTsidFactory(node & nodeMask, TSID_NODE_BITS, TSID_STRIPE_BITS);
+    }
+
+    // Smallest number of bits able to index count stripes
+    private static int bitsFor(int count) {
+        return 32 - Integer.numberOfLeadingZeros(Math.max(1, count - 1));
+    }
+
+    private static int setting(String property, String variable, int defaultValue) {
+        String value = settingValue(property, variable);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static String settingValue(String property, String variable) {
+        String value = System.getProperty(property, System.getenv(variable));
+        return value == null || value.isBlank() ? null : value;
+    }
+
+}
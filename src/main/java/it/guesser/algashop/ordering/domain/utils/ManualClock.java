@@ -0,0 +1,62 @@
+package it.guesser.algashop.ordering.domain.utils;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Clock that only moves when told to, for deterministic tests and for replaying order histories.
+ */
+public final class ManualClock extends Clock {
+
+    private final AtomicLong millis;
+    private final ZoneId zone;
+
+    public ManualClock(Instant start) {
+        this(start, ZoneOffset.UTC);
+    }
+
+    public ManualClock(Instant start, ZoneId zone) {
+        this(new AtomicLong(requireNonNull(start).toEpochMilli()), zone);
+    }
+
+    private ManualClock(AtomicLong millis, ZoneId zone) {
+        this.millis = millis;
+        this.zone = requireNonNull(zone);
+    }
+
+    public void set(Instant instant) {
+        millis.set(requireNonNull(instant).toEpochMilli());
+    }
+
+    public void advance(Duration duration) {
+        millis.addAndGet(requireNonNull(duration).toMillis());
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    // Zoned copies move together with this clock
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this.zone.equals(zone) ? this : new ManualClock(millis, zone);
+    }
+
+    @Override
+    public long millis() {
+        return millis.get();
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis.get());
+    }
+
+}
@@ -0,0 +1,75 @@
+package it.guesser.algashop.ordering.domain.utils;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * UUIDv7 generator split in independent stripes, threads are mapped to a stripe by thread id.
+ * Within a stripe ids are strictly increasing: the 12 bit rand_a is a counter that starts at a random point
+ * of its lower half every millisecond, and the stripe moves to the next millisecond when it runs out
+ * (RFC 9562, fixed-length dedicated counter). rand_b comes from ThreadLocalRandom, so stripes never share
+ * a random source and keep ids unique across stripes. Like StripedTsidFactory, it reads the system clock
+ * rather than DomainClock.
+ */
+public final class StripedTimeBasedUuidGenerator {
+
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_BITS = 0x8000_0000_0000_0000L;
+    private static final long RAND_B_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+    private static final int COUNTER_CAPACITY = 1 << 12;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public StripedTimeBasedUuidGenerator(int stripeBits) {
+        this(stripeBits, Clock.systemUTC());
+    }
+
+    StripedTimeBasedUuidGenerator(int stripeBits, Clock clock) {
+        if (stripeBits < 0 || stripeBits > 16) {
+            throw new IllegalArgumentException("Stripe bits must be between 0 and 16");
+        }
+        this.stripes = new Stripe[1 << stripeBits];
+        this.stripeMask = stripes.length - 1;
+        for (int stripe = 0; stripe < stripes.length; stripe++) {
+            stripes[stripe] = new Stripe(clock);
+        }
+    }
+
+    public int stripes() {
+        return stripes.length;
+    }
+
+    public UUID generate() {
+        long mostSignificantBits = stripes[(int) Thread.currentThread().threadId() & stripeMask].next();
+        return new UUID(mostSignificantBits, VARIANT_BITS | ThreadLocalRandom.current().nextLong() & RAND_B_MASK);
+    }
+
+    private static final class Stripe {
+
+        private final Clock clock;
+
+        private long lastMillis;
+        private int counter;
+
+        private Stripe(Clock clock) {
+            this.clock = clock;
+        }
+
+        // unix_ts_ms (48 bits) | version (4 bits) | counter (12 bits)
+        private synchronized long next() {
+            long millis = clock.millis();
+            if (millis > lastMillis) {
+                lastMillis = millis;
+                counter = ThreadLocalRandom.current().nextInt(COUNTER_CAPACITY >>> 1);
+            } else if (++counter == COUNTER_CAPACITY) {
+                lastMillis++;
+                counter = 0;
+            }
+            return lastMillis << 16 | VERSION_7 | counter;
+        }
+
+    }
+
+}
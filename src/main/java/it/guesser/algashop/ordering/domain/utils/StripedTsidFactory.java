@@ -0,0 +1,121 @@
+package it.guesser.algashop.ordering.domain.utils;
+
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.hypersistence.tsid.TSID;
+
+/*
+ * The TSID node field is split between the node id and a stripe index, and every stripe keeps its own
+ * time and counter. Ids stay unique across stripes (their node fields differ) and a thread only contends
+ * with the threads mapped to the same stripe. Each stripe has 22 - nodeBits - stripeBits counter bits per ms,
+ * which is also the largest block reserve() can hand out. Time comes from the system clock, never from
+ * DomainClock: a frozen or rewound domain clock would hand the same millisecond to successive instances.
+ */
+public final class StripedTsidFactory {
+
+    private static final int RANDOM_BITS = 22;
+    private static final int MAX_NODE_BITS = 20;
+    // Same epoch as TSID.Factory, 2020-01-01T00:00:00Z
+    private static final long TSID_EPOCH = 1577836800000L;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final int counterBits;
+    // Epoch millis from which the node may belong to another instance, see expireAt
+    private volatile long expiresAt = Long.MAX_VALUE;
+
+    public StripedTsidFactory(int node, int nodeBits, int stripeBits) {
+        this(node, nodeBits, stripeBits, Clock.systemUTC());
+    }
+
+    public StripedTsidFactory(int node, int nodeBits, int stripeBits, Clock clock) {
+        if (nodeBits < 0 || stripeBits < 0 || nodeBits + stripeBits > MAX_NODE_BITS) {
+            throw new IllegalArgumentException("Node bits plus stripe bits must be between 0 and " + MAX_NODE_BITS);
+        }
+        if (node < 0 || node >= 1 << nodeBits) {
+            throw new IllegalArgumentException("Node %d does not fit in %d bits".formatted(node, nodeBits));
+        }
+
+        this.counterBits = RANDOM_BITS - nodeBits - stripeBits;
+        this.stripes = new Stripe[1 << stripeBits];
+        this.stripeMask = stripes.length - 1;
+        for (int stripe = 0; stripe < stripes.length; stripe++) {
+            stripes[stripe] = new Stripe((long) ((node << stripeBits) | stripe) << counterBits, counterBits, clock);
+        }
+    }
+
+    public int stripes() {
+        return stripes.length;
+    }
+
+    public int blockCapacity() {
+        return 1 << counterBits;
+    }
+
+    /*
+     * Fences a leased node: no id is handed out with a timestamp at or after expiresAt, as another
+     * instance may own the node by then. Moved forward on every lease renewal.
+     */
+    public void expireAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public TSID generate() {
+        return TSID.from(stripe().reserve(1, expiresAt));
+    }
+
+    // Contiguous ids from one stripe's counter, consumed without any further synchronization
+    public TsidBlock reserve(int count) {
+        if (count < 1 || count > blockCapacity()) {
+            throw new IllegalArgumentException("Block size must be between 1 and " + blockCapacity());
+        }
+        return new TsidBlock(stripe().reserve(count, expiresAt), count);
+    }
+
+    // Thread ids are handed out sequentially, so consecutive threads land on different stripes
+    private Stripe stripe() {
+        return stripes[(int) Thread.currentThread().threadId() & stripeMask];
+    }
+
+    private static final class Stripe {
+
+        private final long nodeField;
+        private final int capacity;
+        private final Clock clock;
+
+        private long lastTime;
+        private int counter;
+
+        private Stripe(long nodeField, int counterBits, Clock clock) {
+            this.nodeField = nodeField;
+            this.capacity = 1 << counterBits;
+            this.clock = clock;
+        }
+
+        /*
+         * Like TSID.Factory: the counter starts at a random point of the first half of each millisecond
+         * and, once exhausted, the stripe moves on to the next millisecond ahead of the clock.
+         */
+        private synchronized long reserve(int count, long expiresAt) {
+            long time = clock.millis() - TSID_EPOCH;
+            if (time > lastTime) {
+                lastTime = time;
+                counter = ThreadLocalRandom.current().nextInt(Math.max(1, capacity >>> 1));
+            }
+            if (counter + count > capacity) {
+                lastTime++;
+                counter = 0;
+            }
+            if (lastTime + TSID_EPOCH >= expiresAt) {
+                throw new IllegalStateException("TSID node lease expired, no ids until it is renewed");
+            }
+
+            long first = lastTime << RANDOM_BITS | nodeField | counter;
+            counter += count;
+            return first;
+        }
+
+    }
+
+}
@@ -0,0 +1,42 @@
+package it.guesser.algashop.ordering.domain.utils;
+
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/*
+ * Consecutive UUIDv7 values sharing the timestamp and rand_a of one generated UUID, with rand_b counting up.
+ * rand_b starts below 2^61, so counting up never carries into the variant bits. Meant to be consumed
+ * by a single thread, like TsidBlock.
+ */
+public final class TimeBasedUuidBlock {
+
+    private static final long VARIANT_BITS = 0x8000_0000_0000_0000L;
+    private static final long RAND_B_START_MASK = 0x1FFF_FFFF_FFFF_FFFFL;
+
+    private final long mostSignificantBits;
+    private final long firstRandB;
+    private final int size;
+    private int next;
+
+    TimeBasedUuidBlock(UUID base, int size) {
+        this.mostSignificantBits = base.getMostSignificantBits();
+        this.firstRandB = base.getLeastSignificantBits() & RAND_B_START_MASK;
+        this.size = size;
+    }
+
+    public boolean hasNext() {
+        return next < size;
+    }
+
+    public int remaining() {
+        return size - next;
+    }
+
+    public UUID next() {
+        if (next == size) {
+            throw new NoSuchElementException("UUID block of %d ids is exhausted".formatted(size));
+        }
+        return new UUID(mostSignificantBits, VARIANT_BITS | (firstRandB + next++));
+    }
+
+}
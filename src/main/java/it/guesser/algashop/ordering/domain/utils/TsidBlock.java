@@ -0,0 +1,37 @@
+package it.guesser.algashop.ordering.domain.utils;
+
+import java.util.NoSuchElementException;
+
+import io.hypersistence.tsid.TSID;
+
+/*
+ * Contiguous range of reserved TSIDs. Meant to be consumed by a single thread (e.g. a bulk import),
+ * so next() is a plain increment with no synchronization.
+ */
+public final class TsidBlock {
+
+    private final long first;
+    private final int size;
+    private int next;
+
+    TsidBlock(long first, int size) {
+        this.first = first;
+        this.size = size;
+    }
+
+    public boolean hasNext() {
+        return next < size;
+    }
+
+    public int remaining() {
+        return size - next;
+    }
+
+    public TSID next() {
+        if (next == size) {
+            throw new NoSuchElementException("TSID block of %d ids is exhausted".formatted(size));
+        }
+        return TSID.from(first + next++);
+    }
+
+}
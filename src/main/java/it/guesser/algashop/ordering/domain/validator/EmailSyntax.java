@@ -0,0 +1,118 @@
+package it.guesser.algashop.ordering.domain.validator;
+
+import org.apache.commons.validator.routines.DomainValidator;
+import org.apache.commons.validator.routines.EmailValidator;
+
+/*
+ * Single pass check of the common e-mail shape (dot-atom user, ASCII host name), with the same
+ * acceptance rules as EmailValidator. Anything outside that shape (quoted or escaped users,
+ * IP literals, non-ASCII) is delegated to EmailValidator.
+ */
+public class EmailSyntax {
+
+    private static final int MAX_USER_LENGTH = 64;
+    private static final int MAX_DOMAIN_LENGTH = 253;
+    private static final int MAX_LABEL_LENGTH = 63;
+
+    private static final int INVALID = 0;
+    private static final int VALID = 1;
+    private static final int UNDECIDED = 2;
+
+    // Unquoted user characters accepted by EmailValidator, besides the dot separator
+    private static final boolean[] ATOM_CHARS = new boolean[128];
+
+    static {
+        for (char c = '!'; c <= '~'; c++) {
+            ATOM_CHARS[c] = "()<>@,;:\\\".[]".indexOf(c) < 0;
+        }
+    }
+
+    private EmailSyntax() {
+
+    }
+
+    public static boolean isValid(String email) {
+        if (email == null || email.endsWith(".")) {
+            return false;
+        }
+
+        int at = email.indexOf('@');
+        if (at < 0) {
+            return false;
+        }
+
+        int result = check(email, at);
+        if (result == UNDECIDED) {
+            return EmailValidator.getInstance().isValid(email);
+        }
+        return result == VALID;
+    }
+
+    private static int check(String email, int at) {
+        if (at == 0 || at > MAX_USER_LENGTH || email.indexOf('@', at + 1) >= 0) {
+            return UNDECIDED;
+        }
+
+        boolean afterDot = true;
+        for (int i = 0; i < at; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (afterDot) {
+                    return UNDECIDED;
+                }
+                afterDot = true;
+            } else if (c < 128 && ATOM_CHARS[c]) {
+                afterDot = false;
+            } else {
+                return UNDECIDED;
+            }
+        }
+        if (afterDot) {
+            return UNDECIDED;
+        }
+
+        int domainStart = at + 1;
+        int length = email.length();
+        if (length - domainStart > MAX_DOMAIN_LENGTH) {
+            return UNDECIDED;
+        }
+
+        int labelStart = domainStart;
+        int labels = 0;
+        for (int i = domainStart; i <= length; i++) {
+            char c = i < length ? email.charAt(i) : '.';
+            if (c == '.') {
+                if (!isValidLabel(email, labelStart, i)) {
+                    return UNDECIDED;
+                }
+                labels++;
+                labelStart = i + 1;
+            } else if (!isAsciiLetterOrDigit(c) && c != '-') {
+                return UNDECIDED;
+            }
+        }
+
+        int topLabelStart = email.lastIndexOf('.') + 1;
+        if (labels < 2 || !isAsciiLetter(email.charAt(topLabelStart))) {
+            return UNDECIDED;
+        }
+
+        return DomainValidator.getInstance().isValidTld(email.substring(topLabelStart)) ? VALID : INVALID;
+    }
+
+    private static boolean isValidLabel(String email, int start, int end) {
+        int length = end - start;
+        return length >= 1 && length <= MAX_LABEL_LENGTH
+                && isAsciiLetterOrDigit(email.charAt(start))
+                && isAsciiLetterOrDigit(email.charAt(end - 1));
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
+
+}
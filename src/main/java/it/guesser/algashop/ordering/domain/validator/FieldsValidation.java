@@ -1,37 +1,55 @@
-package it.guesser.algashop.ordering.domain.validator;
-
-import static java.util.Objects.requireNonNull;
-
-import jakarta.annotation.Nullable;
-
-import static org.apache.commons.lang3.StringUtils.trimToNull;
-
-import org.apache.commons.validator.routines.EmailValidator;
-
-public class FieldsValidation {
-
-    private FieldsValidation() {
-
-    }
-
-    public static String requireValidEmail(String email) {
-        return requireValidEmail(email, null);
-
-    }
-
-    public static String requireValidEmail(String email, @Nullable String errorMessage) {
-        email = requireNonNull(trimToNull(email));
-
-        if (!EmailValidator.getInstance().isValid(email)) {
-            throw new IllegalArgumentException(errorMessage);
-        }
-
-        return email;
-    }
-
-    public static void requireNonNullDependency(Object object, RuntimeException exception) {
-        if (object == null) {
-            throw exception;
-        }
-    }
-}
+package it.guesser.algashop.ordering.domain.validator;
+
+import static java.util.Objects.requireNonNull;
+
+import jakarta.annotation.Nullable;
+
+public class FieldsValidation {
+
+    private FieldsValidation() {
+
+    }
+
+    public static String requireValidEmail(String email) {
+        return requireValidEmail(email, null);
+
+    }
+
+    public static String requireValidEmail(String email, @Nullable String errorMessage) {
+        email = requireNonBlank(email);
+
+        if (!EmailSyntax.isValid(email)) {
+            throw new IllegalArgumentException(errorMessage);
+        }
+
+        return email;
+    }
+
+    /*
+     * Same contract as requireNonNull(StringUtils.trimToNull(value)) in a single pass:
+     * returns the trimmed value (the same instance when there is nothing to trim), NPE when null or blank.
+     */
+    public static String requireNonBlank(String value) {
+        requireNonNull(value);
+
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        if (start == end) {
+            throw new NullPointerException();
+        }
+        return start == 0 && end == value.length() ? value : value.substring(start, end);
+    }
+
+    public static void requireNonNullDependency(Object object, RuntimeException exception) {
+        if (object == null) {
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package it.guesser.algashop.ordering.domain.validator;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Optional;
+
+import it.guesser.algashop.ordering.domain.exceptions.DomainException;
+
+/*
+ * Outcome of a domain command run in non-throwing mode: either accepted, or rejected
+ * with the rule violation that the throwing variant would have thrown.
+ */
+public final class ValidationResult {
+
+    private static final ValidationResult ACCEPTED = new ValidationResult(null);
+
+    private final DomainException rejection;
+
+    private ValidationResult(DomainException rejection) {
+        this.rejection = rejection;
+    }
+
+    public static ValidationResult accepted() {
+        return ACCEPTED;
+    }
+
+    public static ValidationResult rejected(DomainException rejection) {
+        return new ValidationResult(requireNonNull(rejection));
+    }
+
+    public boolean isAccepted() {
+        return rejection == null;
+    }
+
+    public boolean isRejected() {
+        return rejection != null;
+    }
+
+    public Optional<DomainException> getRejection() {
+        return Optional.ofNullable(rejection);
+    }
+
+    public void orElseThrow() {
+        if (rejection != null) {
+            throw rejection;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return rejection == null ? "ValidationResult[accepted]" : "ValidationResult[rejected=" + rejection.getMessage() + "]";
+    }
+
+}
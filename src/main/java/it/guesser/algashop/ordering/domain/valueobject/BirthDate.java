@@ -5,13 +5,14 @@ import static java.util.Objects.requireNonNull;
 import java.time.LocalDate;
 
 import it.guesser.algashop.ordering.domain.exceptions.BirthDateInFutureException;
+import it.guesser.algashop.ordering.domain.utils.DomainClock;
 
 public record BirthDate(LocalDate value) {
 
     public BirthDate(LocalDate value) {
         requireNonNull(value);
 
-        if (value.isAfter(LocalDate.now())) {
+        if (value.isAfter(DomainClock.today())) {
             throw new BirthDateInFutureException();
         }
 
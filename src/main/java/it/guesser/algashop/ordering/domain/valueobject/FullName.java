@@ -1,13 +1,11 @@
 package it.guesser.algashop.ordering.domain.valueobject;
 
-import static java.util.Objects.requireNonNull;
-
-import static org.apache.commons.lang3.StringUtils.trimToNull;
+import static it.guesser.algashop.ordering.domain.validator.FieldsValidation.requireNonBlank;
 
 public record FullName(String fullName) {
 
     public FullName(String fullName) {
-        this.fullName = requireNonNull(trimToNull(fullName));
+        this.fullName = requireNonBlank(fullName);
     }
 
     @Override
@@ -5,28 +5,66 @@ import static java.util.Objects.requireNonNull;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 
-public record Money(BigDecimal value) implements Comparable<Money> {
+/*
+ * Amount kept as a long of cents, so arithmetic is plain overflow-checked long math.
+ * BigDecimal is only created by value(), at persistence and API boundaries.
+ * Amounts are limited to Long.MAX_VALUE cents: a larger value is rejected on construction,
+ * and add/multiply results past that limit throw ArithmeticException.
+ */
+public final class Money implements Comparable<Money> {
 
-    public static final Money ZERO = new Money(BigDecimal.ZERO);
+    private static final int SCALE = 2;
 
-    public Money {
-        requireNonNull(value);
-        if (BigDecimal.ZERO.compareTo(value) > 0) {
+    public static final Money ZERO = new Money(0L);
+
+    private final long cents;
+
+    private Money(long cents) {
+        if (cents < 0) {
             throw new IllegalArgumentException("Money cannot be negative");
         }
+        this.cents = cents;
+    }
 
-        value = value.setScale(2, RoundingMode.HALF_EVEN);
+    public Money(BigDecimal value) {
+        this(toCents(value));
     }
 
     public Money(String value) {
         this(new BigDecimal(requireNonNull(value)));
     }
 
+    // Checked before rounding, so a small negative amount is not rounded to zero
+    private static long toCents(BigDecimal value) {
+        requireNonNull(value);
+        if (value.signum() < 0) {
+            throw new IllegalArgumentException("Money cannot be negative");
+        }
+        try {
+            return value.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Money exceeds the supported range", e);
+        }
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    public long cents() {
+        return cents;
+    }
+
+    public BigDecimal value() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
     public Money multiply(Quantity quantity) {
         requireNonNull(quantity);
-        return new Money(value().multiply(new BigDecimal(quantity.value())));
+        return ofCents(Math.multiplyExact(cents, (long) quantity.value()));
     }
 
+    // Rare and needs exact decimal semantics, so it goes through BigDecimal
     public Money divide(Quantity quantity) {
         requireNonNull(quantity);
         return new Money(value().divide(new BigDecimal(quantity.value())));
@@ -34,14 +72,33 @@ public record Money(BigDecimal value) implements Comparable<Money> {
 
     public Money add(Money modeyToAdd) {
         requireNonNull(modeyToAdd);
-        return new Money(value().add(modeyToAdd.value()));
+        return modeyToAdd.cents == 0 ? this : ofCents(Math.addExact(cents, modeyToAdd.cents));
+    }
+
+    public Money subtract(Money moneyToSubtract) {
+        requireNonNull(moneyToSubtract);
+        return moneyToSubtract.cents == 0 ? this : ofCents(Math.subtractExact(cents, moneyToSubtract.cents));
     }
 
     @Override
     public int compareTo(Money o) {
         requireNonNull(o);
-        return value().compareTo(o.value);
+        return Long.compare(cents, o.cents);
+    }
 
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj || obj instanceof Money other && cents == other.cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return "Money[value=" + value() + "]";
     }
 
 }
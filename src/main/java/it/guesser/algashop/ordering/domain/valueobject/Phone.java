@@ -1,12 +1,11 @@
 package it.guesser.algashop.ordering.domain.valueobject;
 
-import static java.util.Objects.requireNonNull;
-import static org.apache.commons.lang3.StringUtils.trimToNull;
+import static it.guesser.algashop.ordering.domain.validator.FieldsValidation.requireNonBlank;
 
 public record Phone(String value) {
 
     public Phone(String value) {
-        this.value = requireNonNull(trimToNull(value));
+        this.value = requireNonBlank(value);
     }
 
 }
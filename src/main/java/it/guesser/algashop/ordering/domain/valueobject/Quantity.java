@@ -2,25 +2,46 @@ package it.guesser.algashop.ordering.domain.valueobject;
 
 import static java.util.Objects.requireNonNull;
 
-public record Quantity(Integer value) implements Comparable<Quantity> {
+public record Quantity(int value) implements Comparable<Quantity> {
 
-    public static final Quantity ZERO = new Quantity(0);
+    // Like Integer.valueOf, the small quantities used by carts and orders are shared instances
+    private static final int CACHE_HIGH = 127;
+    private static final Quantity[] CACHE = new Quantity[CACHE_HIGH + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new Quantity(i);
+        }
+    }
+
+    public static final Quantity ZERO = CACHE[0];
 
     public Quantity {
-        requireNonNull(value);
         if (value < 0) {
             throw new IllegalArgumentException("Quantity cannot be negative");
         }
     }
 
+    public Quantity(Integer value) {
+        this(requireNonNull(value).intValue());
+    }
+
+    public static Quantity of(int value) {
+        return value >= 0 && value <= CACHE_HIGH ? CACHE[value] : new Quantity(value);
+    }
+
     public Quantity add(Quantity quantityToAdd) {
-        return new Quantity(value + quantityToAdd.value());
+        return of(Math.addExact(value, quantityToAdd.value()));
+    }
+
+    public Quantity subtract(Quantity quantityToSubtract) {
+        return of(value - quantityToSubtract.value());
     }
 
     @Override
     public int compareTo(Quantity o) {
         requireNonNull(o);
-        return value().compareTo(o.value());
+        return Integer.compare(value, o.value());
     }
 
 }
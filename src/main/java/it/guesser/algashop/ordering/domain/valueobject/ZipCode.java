@@ -1,15 +1,12 @@
 package it.guesser.algashop.ordering.domain.valueobject;
 
-import static java.util.Objects.requireNonNull;
-import static org.apache.commons.lang3.StringUtils.trimToNull;
-
-import org.apache.commons.lang3.StringUtils;
+import static it.guesser.algashop.ordering.domain.validator.FieldsValidation.requireNonBlank;
 
 public record ZipCode(String value) {
 
     public ZipCode {
-        value = requireNonNull(trimToNull(value));
-        if (StringUtils.length(value) != 5) {
+        value = requireNonBlank(value);
+        if (value.length() != 5) {
             throw new IllegalArgumentException();
         }
     }
@@ -0,0 +1,41 @@
+package it.guesser.algashop.ordering.infrastructure.auditing;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+ * User on whose behalf the current code runs, bound with a ScopedValue at the request edge (runAs/callAs)
+ * so it follows virtual threads without a ThreadLocal. The bound value is the Optional handed to
+ * Spring Data auditing, so reading it never allocates. Writes outside any scope are audited as SYSTEM_USER_ID.
+ */
+public final class AuditingContext {
+
+    public static final UUID SYSTEM_USER_ID = new UUID(0L, 0L);
+
+    private static final Optional<UUID> SYSTEM_AUDITOR = Optional.of(SYSTEM_USER_ID);
+    private static final ScopedValue<Optional<UUID>> CURRENT_AUDITOR = ScopedValue.newInstance();
+
+    private AuditingContext() {
+
+    }
+
+    public static void runAs(UUID userId, Runnable operation) {
+        ScopedValue.where(CURRENT_AUDITOR, Optional.of(requireNonNull(userId))).run(operation);
+    }
+
+    public static <R, X extends Throwable> R callAs(UUID userId, ScopedValue.CallableOp<? extends R, X> operation)
+            throws X {
+        return ScopedValue.where(CURRENT_AUDITOR, Optional.of(requireNonNull(userId))).call(operation);
+    }
+
+    public static Optional<UUID> currentAuditor() {
+        return CURRENT_AUDITOR.orElse(SYSTEM_AUDITOR);
+    }
+
+    public static UUID currentUserId() {
+        return currentAuditor().get();
+    }
+
+}
@@ -0,0 +1,36 @@
+package it.guesser.algashop.ordering.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+import it.guesser.algashop.ordering.domain.utils.CoarseClock;
+import it.guesser.algashop.ordering.domain.utils.DomainClock;
+
+/*
+ * Installs a CoarseClock as the DomainClock, so aggregate and audit timestamps stop
+ * reading the OS clock on every call. Off unless ordering.clock.coarse.enabled is true: on Linux
+ * System.currentTimeMillis is a vDSO read of a few nanoseconds, so the ticker thread waking every
+ * resolution only pays off where the OS clock is a real syscall (some VMs and containers).
+ */
+@Configuration
+@ConditionalOnProperty(name = "ordering.clock.coarse.enabled", havingValue = "true")
+public class DomainClockConfig implements DisposableBean {
+
+    private final CoarseClock clock;
+
+    public DomainClockConfig(@Value("${ordering.clock.coarse.resolution-millis:1}") long resolutionMillis) {
+        this.clock = new CoarseClock(Duration.ofMillis(resolutionMillis));
+        DomainClock.use(clock);
+    }
+
+    @Override
+    public void destroy() {
+        DomainClock.reset();
+        clock.close();
+    }
+
+}
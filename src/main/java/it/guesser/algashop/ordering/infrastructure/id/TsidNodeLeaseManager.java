@@ -0,0 +1,177 @@
+package it.guesser.algashop.ordering.infrastructure.id;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import it.guesser.algashop.ordering.domain.utils.IdGenerator;
+import it.guesser.algashop.ordering.domain.utils.StripedTsidFactory;
+import it.guesser.algashop.ordering.infrastructure.persistence.entity.TsidNodeLeasePersistenceEntity;
+import it.guesser.algashop.ordering.infrastructure.persistence.repository.TsidNodeLeasePersistenceEntityRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Leases a TSID node id from the tsid_node_lease table at startup and installs striped TSID factories
+ * for it, so instances no longer need TSID_NODE. The layout (node and stripe bits) is the one IdGenerator
+ * uses for configured nodes. The lease is renewed every third of its ttl and the factory is fenced at the
+ * current expiry, so an instance that cannot renew stops generating before another one may take its node;
+ * an expired lease (crashed instance) is reused by the next instance that starts.
+ * Opt-in with ordering.id.tsid.node-lease.enabled; an instance started with TSID_NODE keeps that node and
+ * takes no lease, so existing fixed-node deployments are unaffected.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ordering.id.tsid.node-lease.enabled", havingValue = "true")
+public class TsidNodeLeaseManager implements InitializingBean, DisposableBean {
+
+    private final TsidNodeLeasePersistenceEntityRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final int nodeBits;
+    private final int stripeBits;
+    private final Duration ttl;
+    // Leases are compared across instances, so they follow the system clock like the ids they guard
+    private final Clock clock;
+    private final String instanceId = IdGenerator.generateTimeBasedUuid().toString();
+
+    private ScheduledExecutorService renewer;
+    private volatile StripedTsidFactory factory;
+    private volatile int node = -1;
+
+    @Autowired
+    public TsidNodeLeaseManager(TsidNodeLeasePersistenceEntityRepository repository,
+            PlatformTransactionManager transactionManager,
+            @Value("${ordering.id.tsid.node-lease.ttl-seconds:60}") long ttlSeconds) {
+        this(repository, transactionManager, IdGenerator.tsidNodeBits(), IdGenerator.tsidStripeBits(), ttlSeconds,
+                Clock.systemUTC());
+    }
+
+    TsidNodeLeaseManager(TsidNodeLeasePersistenceEntityRepository repository,
+            PlatformTransactionManager transactionManager, int nodeBits, int stripeBits, long ttlSeconds,
+            Clock clock) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.nodeBits = nodeBits;
+        this.stripeBits = stripeBits;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.clock = clock;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (IdGenerator.isTsidNodeConfigured()) {
+            log.info("TSID_NODE is set, keeping the configured TSID node and skipping node leasing");
+            return;
+        }
+        install(acquire());
+
+        long period = Math.max(1, ttl.toMillis() / 3);
+        renewer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("tsid-node-lease").factory());
+        renewer.scheduleAtFixedRate(this::renew, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (renewer != null) {
+            renewer.shutdownNow();
+        }
+        release();
+        IdGenerator.useSharedTsid();
+    }
+
+    public int getNode() {
+        return node;
+    }
+
+    Lease acquire() {
+        int maxNodes = 1 << nodeBits;
+        // Each failed attempt means another instance won a node id, so this is bounded by the node space
+        for (int attempt = 0; attempt < maxNodes; attempt++) {
+            Optional<Lease> acquired = tryAcquire(maxNodes);
+            if (acquired.isPresent()) {
+                return acquired.get();
+            }
+        }
+        throw new IllegalStateException("No free TSID node id among %d".formatted(maxNodes));
+    }
+
+    private Optional<Lease> tryAcquire(int maxNodes) {
+        long now = clock.millis();
+        long leasedUntil = now + ttl.toMillis();
+        try {
+            return transactionTemplate.execute(status -> {
+                Optional<TsidNodeLeasePersistenceEntity> expired = repository
+                        .findFirstByLeasedUntilLessThanOrderByNodeIdAsc(now);
+                if (expired.isPresent()) {
+                    TsidNodeLeasePersistenceEntity lease = expired.get();
+                    return repository.claim(lease.getNodeId(), lease.getLeasedUntil(), instanceId, leasedUntil) == 1
+                            ? Optional.of(new Lease(lease.getNodeId(), leasedUntil))
+                            : Optional.<Lease>empty();
+                }
+
+                // Node ids are created in order, so the next one is the number of rows
+                long next = repository.count();
+                if (next >= maxNodes) {
+                    throw new IllegalStateException("All %d TSID node ids are leased".formatted(maxNodes));
+                }
+                repository.insert((int) next, instanceId, leasedUntil);
+                return Optional.of(new Lease((int) next, leasedUntil));
+            });
+        } catch (DataIntegrityViolationException e) {
+            return Optional.empty();
+        }
+    }
+
+    void renew() {
+        long leasedUntil = clock.millis() + ttl.toMillis();
+        try {
+            boolean renewed = transactionTemplate.execute(status -> repository.renew(node, instanceId,
+                    leasedUntil) == 1);
+            if (renewed) {
+                factory.expireAt(leasedUntil);
+            } else {
+                // Another instance took over the node after the lease expired, keep generating on a fresh one
+                log.warn("TSID node {} lease was lost, acquiring a new node id", node);
+                install(acquire());
+            }
+        } catch (RuntimeException e) {
+            // The fence stays at the last expiry, so generation stops there until a later run succeeds
+            log.warn("TSID node {} lease renewal failed, ids stop at its expiry", node, e);
+        }
+    }
+
+    void release() {
+        if (node >= 0) {
+            transactionTemplate.executeWithoutResult(status -> repository.renew(node, instanceId, 0));
+        }
+    }
+
+    private void install(Lease lease) {
+        StripedTsidFactory leased = new StripedTsidFactory(lease.node(), nodeBits, stripeBits, clock);
+        leased.expireAt(lease.leasedUntil());
+        IdGenerator.useTsidFactory(leased);
+        factory = leased;
+        node = lease.node();
+        log.info("Generating TSIDs as node {} of {} with {} stripes", node, 1 << nodeBits, 1 << stripeBits);
+    }
+
+    record Lease(int node, long leasedUntil) {
+
+    }
+
+}
@@ -0,0 +1,51 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.assembler;
+
+import org.springframework.stereotype.Component;
+
+import it.guesser.algashop.ordering.domain.entity.Customer;
+import it.guesser.algashop.ordering.domain.valueobject.Address;
+import it.guesser.algashop.ordering.infrastructure.persistence.embeddable.AddressEmbeddable;
+import it.guesser.algashop.ordering.infrastructure.persistence.entity.CustomerPersistenceEntity;
+import it.guesser.algashop.ordering.infrastructure.persistence.utils.FullNameUtil;
+import it.guesser.algashop.ordering.infrastructure.persistence.utils.NaturalKeys;
+
+@Component
+public class CustomerPersistenceEntityAssembler {
+
+    public CustomerPersistenceEntity fromDomain(Customer customer) {
+        return merge(new CustomerPersistenceEntity(), customer);
+    }
+
+    public CustomerPersistenceEntity merge(CustomerPersistenceEntity customerPersistenceEntity, Customer customer) {
+        customerPersistenceEntity.setId(customer.getId().value());
+        customerPersistenceEntity.setFirstName(FullNameUtil.getFirstName(customer.getFullName()).orElse(null));
+        customerPersistenceEntity.setLastName(FullNameUtil.getLastName(customer.getFullName()).orElse(null));
+        customerPersistenceEntity.setBirthDate(customer.getBirthDate().value());
+        customerPersistenceEntity.setEmail(customer.getEmail().value());
+        customerPersistenceEntity.setNormalizedEmail(NaturalKeys.normalize(customer.getEmail()));
+        customerPersistenceEntity.setPhone(customer.getPhone().value());
+        customerPersistenceEntity.setDocument(customer.getDocument().value());
+        customerPersistenceEntity.setNormalizedDocument(
+                customer.isArchived() ? null : NaturalKeys.normalize(customer.getDocument()));
+        customerPersistenceEntity.setRegisteredAt(customer.getRegisteredAt());
+        customerPersistenceEntity.setPromotionNotificationsAllowed(customer.isPromotionNotificationsAllowed());
+        customerPersistenceEntity.setArchived(customer.isArchived());
+        customerPersistenceEntity.setArchivedAt(customer.getArchivedAt());
+        customerPersistenceEntity.setLoyaltyPoints(customer.getLoyaltyPoints().points());
+        customerPersistenceEntity.setAddress(toAddressEmbeddable(customer.getAddress()));
+        customerPersistenceEntity.setVersion(customer.getVersion());
+        return customerPersistenceEntity;
+    }
+
+    private AddressEmbeddable toAddressEmbeddable(Address address) {
+        return AddressEmbeddable.builder()
+                .street(address.street())
+                .complement(address.complement())
+                .neighborhood(address.neighborhood())
+                .city(address.city())
+                .state(address.state())
+                .zipCode(address.zipCode().value())
+                .build();
+    }
+
+}
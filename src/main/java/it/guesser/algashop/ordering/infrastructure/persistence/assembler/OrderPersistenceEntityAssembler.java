@@ -1,11 +1,25 @@
 package it.guesser.algashop.ordering.infrastructure.persistence.assembler;
 
-import it.guesser.algashop.ordering.domain.valueobject.Billing;
-import it.guesser.algashop.ordering.infrastructure.persistence.embeddable.BillingEmbeddable;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import org.springframework.stereotype.Component;
 
 import it.guesser.algashop.ordering.domain.entity.Order;
+import it.guesser.algashop.ordering.domain.entity.OrderItem;
+import it.guesser.algashop.ordering.domain.valueobject.Address;
+import it.guesser.algashop.ordering.domain.valueobject.Billing;
+import it.guesser.algashop.ordering.domain.valueobject.Recipient;
+import it.guesser.algashop.ordering.domain.valueobject.Shipping;
+import it.guesser.algashop.ordering.infrastructure.persistence.embeddable.AddressEmbeddable;
+import it.guesser.algashop.ordering.infrastructure.persistence.embeddable.BillingEmbeddable;
+import it.guesser.algashop.ordering.infrastructure.persistence.embeddable.RecipientEmbeddable;
+import it.guesser.algashop.ordering.infrastructure.persistence.embeddable.ShippingEmbeddable;
+import it.guesser.algashop.ordering.infrastructure.persistence.entity.OrderItemPersistenceEntity;
 import it.guesser.algashop.ordering.infrastructure.persistence.entity.OrderPersistenceEntity;
+import it.guesser.algashop.ordering.infrastructure.persistence.utils.FullNameUtil;
 
 @Component
 public class OrderPersistenceEntityAssembler {
@@ -25,21 +39,95 @@ public class OrderPersistenceEntityAssembler {
         orderPersistenceEntity.setPaidAt(order.getPaidAt());
         orderPersistenceEntity.setPlacedAt(order.getPlacedAt());
         orderPersistenceEntity.setReadyAt(order.getReadyAt());
+        orderPersistenceEntity.setBilling(toBillingEmbeddable(order.getBilling()));
+        orderPersistenceEntity.setShipping(toShippingEmbeddable(order.getShipping()));
         orderPersistenceEntity.setVersion(order.getVersion());
+        mergeItems(orderPersistenceEntity, order);
         return orderPersistenceEntity;
     }
 
-    private void mergeBillingFields(OrderPersistenceEntity orderPersistenceEntity, Order order) {
-        Billing billing = order.getBilling();
+    /*
+     * Items are merged in place by id, the collection instance is kept because it is orphan-removal managed.
+     */
+    private void mergeItems(OrderPersistenceEntity orderPersistenceEntity, Order order) {
+        Set<OrderItem> orderItems = order.getItems();
+        Set<Long> orderItemIds = orderItems.stream()
+                .map(orderItem -> orderItem.getId().value().toLong())
+                .collect(Collectors.toSet());
+
+        Set<OrderItemPersistenceEntity> itemPersistenceEntities = orderPersistenceEntity.getItems();
+        itemPersistenceEntities.removeIf(item -> !orderItemIds.contains(item.getId()));
+
+        Map<Long, OrderItemPersistenceEntity> existingItems = itemPersistenceEntities.stream()
+                .collect(Collectors.toMap(OrderItemPersistenceEntity::getId, Function.identity()));
+
+        for (OrderItem orderItem : orderItems) {
+            OrderItemPersistenceEntity itemPersistenceEntity = existingItems.get(orderItem.getId().value().toLong());
+            if (itemPersistenceEntity == null) {
+                itemPersistenceEntity = new OrderItemPersistenceEntity();
+                itemPersistenceEntities.add(mergeItem(itemPersistenceEntity, orderPersistenceEntity, orderItem));
+            } else {
+                mergeItem(itemPersistenceEntity, orderPersistenceEntity, orderItem);
+            }
+        }
+    }
+
+    private OrderItemPersistenceEntity mergeItem(OrderItemPersistenceEntity itemPersistenceEntity,
+            OrderPersistenceEntity orderPersistenceEntity, OrderItem orderItem) {
+        itemPersistenceEntity.setId(orderItem.getId().value().toLong());
+        itemPersistenceEntity.setOrder(orderPersistenceEntity);
+        itemPersistenceEntity.setProductId(orderItem.getProductId().value());
+        itemPersistenceEntity.setProductName(orderItem.getProductName().value());
+        itemPersistenceEntity.setProductPrice(orderItem.getProductPrice().value());
+        itemPersistenceEntity.setQuantity(orderItem.getQuantity().value());
+        itemPersistenceEntity.setTotalAmount(orderItem.getTotalAmount().value());
+        return itemPersistenceEntity;
+    }
 
+    private BillingEmbeddable toBillingEmbeddable(Billing billing) {
         if (billing == null) {
-            orderPersistenceEntity.setBilling(null);
+            return null;
         }
+        return BillingEmbeddable.builder()
+                .firstName(FullNameUtil.getFirstName(billing.fullName()).orElse(null))
+                .lastName(FullNameUtil.getLastName(billing.fullName()).orElse(null))
+                .document(billing.document().value())
+                .phone(billing.phone().value())
+                .address(toAddressEmbeddable(billing.address()))
+                .email(billing.email().value())
+                .build();
+    }
+
+    private ShippingEmbeddable toShippingEmbeddable(Shipping shipping) {
+        if (shipping == null) {
+            return null;
+        }
+        return ShippingEmbeddable.builder()
+                .cost(shipping.cost().value())
+                .expectedDate(shipping.expectedDate())
+                .address(toAddressEmbeddable(shipping.address()))
+                .recipient(toRecipientEmbeddable(shipping.recipient()))
+                .build();
+    }
+
+    private RecipientEmbeddable toRecipientEmbeddable(Recipient recipient) {
+        return RecipientEmbeddable.builder()
+                .firstName(FullNameUtil.getFirstName(recipient.fullName()).orElse(null))
+                .lastName(FullNameUtil.getLastName(recipient.fullName()).orElse(null))
+                .document(recipient.document().value())
+                .phone(recipient.phone().value())
+                .build();
+    }
 
-//        BillingEmbeddable.builder()
-//                .firstName(billing.f)
-//                        .email(order.getBilling().email().value())
-//                .
+    private AddressEmbeddable toAddressEmbeddable(Address address) {
+        return AddressEmbeddable.builder()
+                .street(address.street())
+                .complement(address.complement())
+                .neighborhood(address.neighborhood())
+                .city(address.city())
+                .state(address.state())
+                .zipCode(address.zipCode().value())
+                .build();
     }
 
 }
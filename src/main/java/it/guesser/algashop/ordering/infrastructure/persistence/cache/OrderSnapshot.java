@@ -0,0 +1,93 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.cache;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import it.guesser.algashop.ordering.domain.entity.Order;
+import it.guesser.algashop.ordering.domain.entity.OrderItem;
+import it.guesser.algashop.ordering.domain.entity.OrderStatus;
+import it.guesser.algashop.ordering.domain.entity.PaymentMethod;
+import it.guesser.algashop.ordering.domain.valueobject.Billing;
+import it.guesser.algashop.ordering.domain.valueobject.Money;
+import it.guesser.algashop.ordering.domain.valueobject.ProductName;
+import it.guesser.algashop.ordering.domain.valueobject.Quantity;
+import it.guesser.algashop.ordering.domain.valueobject.Shipping;
+import it.guesser.algashop.ordering.domain.valueobject.id.CustomerId;
+import it.guesser.algashop.ordering.domain.valueobject.id.OrderId;
+import it.guesser.algashop.ordering.domain.valueobject.id.OrderItemId;
+import it.guesser.algashop.ordering.domain.valueobject.id.ProductId;
+
+/*
+ * Immutable copy of an Order state. Every toDomain() call builds a new aggregate,
+ * so callers never share mutable state with the cache.
+ */
+public record OrderSnapshot(
+        OrderId id,
+        CustomerId customerId,
+        Money totalAmount,
+        Quantity totalItems,
+        long placedAt,
+        long paidAt,
+        long canceledAt,
+        long readyAt,
+        Billing billing,
+        Shipping shipping,
+        OrderStatus status,
+        PaymentMethod paymentMethod,
+        List<ItemSnapshot> items,
+        long version) {
+
+    public static OrderSnapshot of(Order order) {
+        return new OrderSnapshot(
+                order.getId(),
+                order.getCustomerId(),
+                order.getTotalAmount(),
+                order.getTotalItems(),
+                order.getPlacedAt(),
+                order.getPaidAt(),
+                order.getCanceledAt(),
+                order.getReadyAt(),
+                order.getBilling(),
+                order.getShipping(),
+                order.getStatus(),
+                order.getPaymentMethod(),
+                order.getItems().stream().map(ItemSnapshot::of).toList(),
+                order.getVersion());
+    }
+
+    public Order toDomain() {
+        Set<OrderItem> orderItems = new HashSet<>(items.size());
+        items.forEach(item -> orderItems.add(item.toDomain()));
+
+        return Order.ofExistent(id, customerId, totalAmount, totalItems, placedAt, paidAt, canceledAt, readyAt,
+                billing, shipping, status, paymentMethod, orderItems, version);
+    }
+
+    public record ItemSnapshot(
+            OrderItemId id,
+            OrderId orderId,
+            ProductId productId,
+            ProductName productName,
+            Money productPrice,
+            Quantity quantity,
+            Money totalAmount) {
+
+        static ItemSnapshot of(OrderItem orderItem) {
+            return new ItemSnapshot(
+                    orderItem.getId(),
+                    orderItem.getOrderId(),
+                    orderItem.getProductId(),
+                    orderItem.getProductName(),
+                    orderItem.getProductPrice(),
+                    orderItem.getQuantity(),
+                    orderItem.getTotalAmount());
+        }
+
+        OrderItem toDomain() {
+            return OrderItem.ofExistent(id, orderId, productId, productName, productPrice, quantity, totalAmount);
+        }
+
+    }
+
+}
@@ -0,0 +1,132 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.IntConsumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import it.guesser.algashop.ordering.domain.entity.Order;
+import it.guesser.algashop.ordering.domain.valueobject.id.OrderId;
+
+/*
+ * Bounded (size + TTL) in-process cache of Order snapshots.
+ * Writes are deferred to after commit when a transaction is active, so rolled back state is never cached,
+ * and a snapshot only replaces the cached one when its version is newer. Invalidations happen right away and
+ * again once the transaction completes, dropping what concurrent readers cached from the pre-commit rows.
+ * Writers that bypass the aggregate (bulk updates) also record the version they wrote as a minimum, so a reader's
+ * older snapshot put after that commit is rejected instead of caching the old state back.
+ */
+@Component
+public class OrderSnapshotCache {
+
+    private final Cache<OrderId, OrderSnapshot> cache;
+    private final Cache<OrderId, Long> minimumVersions;
+
+    @Autowired
+    public OrderSnapshotCache(
+            @Value("${ordering.persistence.order-cache.maximum-size:10000}") long maximumSize,
+            @Value("${ordering.persistence.order-cache.ttl-seconds:300}") long ttlSeconds) {
+        this(maximumSize, Duration.ofSeconds(ttlSeconds), Ticker.systemTicker());
+    }
+
+    OrderSnapshotCache(long maximumSize, Duration ttl, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        // Same bounds, a minimum only has to outlive the snapshots read before its write
+        this.minimumVersions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .build();
+    }
+
+    public Optional<Order> get(OrderId id) {
+        return Optional.ofNullable(cache.getIfPresent(id)).map(OrderSnapshot::toDomain);
+    }
+
+    public void put(Order order) {
+        OrderSnapshot snapshot = OrderSnapshot.of(order);
+
+        afterCommit(() -> cache.asMap().compute(snapshot.id(), (id, cached) -> {
+            Long minimumVersion = minimumVersions.getIfPresent(id);
+            if (minimumVersion != null && snapshot.version() < minimumVersion) {
+                return cached;
+            }
+            return cached == null || snapshot.version() > cached.version() ? snapshot : cached;
+        }));
+    }
+
+    // Drops the cached entry right away only, for writers whose newer snapshot is put after commit
+    public void evict(OrderId id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidate(OrderId id) {
+        cache.invalidate(id);
+        afterCompletion(status -> cache.invalidate(id));
+    }
+
+    // For writes done without the aggregate, snapshots older than the written version are not cached anymore
+    public void invalidate(OrderId id, long writtenVersion) {
+        Long minimumVersion = minimumVersions.asMap().merge(id, writtenVersion, Math::max);
+        cache.invalidate(id);
+        afterCompletion(status -> {
+            if (status == TransactionSynchronization.STATUS_ROLLED_BACK) {
+                minimumVersions.asMap().remove(id, minimumVersion);
+            }
+            cache.invalidate(id);
+        });
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    // Commit or rollback, either way the cached entry may be stale
+    private void afterCompletion(IntConsumer action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status);
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+}
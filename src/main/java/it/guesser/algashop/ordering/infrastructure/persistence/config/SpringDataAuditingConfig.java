@@ -1,6 +1,5 @@
 package it.guesser.algashop.ordering.infrastructure.persistence.config;
 
-import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -10,18 +9,21 @@ import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
+import it.guesser.algashop.ordering.domain.utils.DomainClock;
+import it.guesser.algashop.ordering.infrastructure.auditing.AuditingContext;
+
 @Configuration
 @EnableJpaAuditing(dateTimeProviderRef = "dateTimeProvider", auditorAwareRef = "auditorProvider")
 public class SpringDataAuditingConfig {
 
     @Bean
     public DateTimeProvider dateTimeProvider() {
-        return () -> Optional.of(Instant.now());
+        return () -> Optional.of(DomainClock.now());
     }
 
     @Bean
     public AuditorAware<UUID> auditorProvider() {
-        return () -> Optional.of(UUID.randomUUID()); // TODO: FIX THAT TO GET THE USER FROM CONTEXT
+        return AuditingContext::currentAuditor;
     }
 
 }
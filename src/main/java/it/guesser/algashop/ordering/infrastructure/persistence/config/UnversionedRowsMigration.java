@@ -0,0 +1,44 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.config;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import it.guesser.algashop.ordering.infrastructure.persistence.repository.CustomerPersistenceEntityRepository;
+import it.guesser.algashop.ordering.infrastructure.persistence.repository.OrderPersistenceEntityRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Providers decide insert vs update from the aggregate version, 0 meaning "never persisted", and persisted rows
+ * start at version 1. Rows written before that (file based dev database) can still hold version 0 and would be
+ * inserted again, so they are moved to version 1 once at startup. Idempotent, a no-op on an up to date schema.
+ */
+@Slf4j
+@Component
+public class UnversionedRowsMigration implements InitializingBean {
+
+    private final OrderPersistenceEntityRepository orderRepository;
+    private final CustomerPersistenceEntityRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public UnversionedRowsMigration(OrderPersistenceEntityRepository orderRepository,
+            CustomerPersistenceEntityRepository customerRepository,
+            PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        transactionTemplate.executeWithoutResult(status -> {
+            int orders = orderRepository.promoteUnversionedRows();
+            int customers = customerRepository.promoteUnversionedRows();
+            if (orders > 0 || customers > 0) {
+                log.info("Moved {} orders and {} customers from version 0 to version 1", orders, customers);
+            }
+        });
+    }
+
+}
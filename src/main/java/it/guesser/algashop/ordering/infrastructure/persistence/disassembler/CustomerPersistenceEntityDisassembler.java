@@ -0,0 +1,55 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.disassembler;
+
+import static it.guesser.algashop.ordering.infrastructure.persistence.utils.AggregateFieldAccessors.CUSTOMER_VERSION;
+
+import org.springframework.stereotype.Component;
+
+import it.guesser.algashop.ordering.domain.entity.Customer;
+import it.guesser.algashop.ordering.domain.valueobject.Address;
+import it.guesser.algashop.ordering.domain.valueobject.BirthDate;
+import it.guesser.algashop.ordering.domain.valueobject.Document;
+import it.guesser.algashop.ordering.domain.valueobject.Email;
+import it.guesser.algashop.ordering.domain.valueobject.FullName;
+import it.guesser.algashop.ordering.domain.valueobject.LoyaltyPoints;
+import it.guesser.algashop.ordering.domain.valueobject.Phone;
+import it.guesser.algashop.ordering.domain.valueobject.ZipCode;
+import it.guesser.algashop.ordering.domain.valueobject.id.CustomerId;
+import it.guesser.algashop.ordering.infrastructure.persistence.embeddable.AddressEmbeddable;
+import it.guesser.algashop.ordering.infrastructure.persistence.entity.CustomerPersistenceEntity;
+
+@Component
+public class CustomerPersistenceEntityDisassembler {
+
+    public Customer toDomain(CustomerPersistenceEntity persistenceEntity) {
+        Customer customer = Customer.existent(
+                new CustomerId(persistenceEntity.getId()),
+                toFullName(persistenceEntity.getFirstName(), persistenceEntity.getLastName()),
+                new BirthDate(persistenceEntity.getBirthDate()),
+                new Email(persistenceEntity.getEmail()),
+                new Phone(persistenceEntity.getPhone()),
+                new Document(persistenceEntity.getDocument()),
+                persistenceEntity.getRegisteredAt(),
+                persistenceEntity.isPromotionNotificationsAllowed(),
+                persistenceEntity.isArchived(),
+                persistenceEntity.getArchivedAt(),
+                new LoyaltyPoints(persistenceEntity.getLoyaltyPoints()),
+                toAddress(persistenceEntity.getAddress()));
+        CUSTOMER_VERSION.set(customer, persistenceEntity.getVersion());
+        return customer;
+    }
+
+    private FullName toFullName(String firstName, String lastName) {
+        return new FullName(lastName == null ? firstName : firstName + " " + lastName);
+    }
+
+    private Address toAddress(AddressEmbeddable address) {
+        return new Address(
+                address.getStreet(),
+                address.getComplement(),
+                address.getNeighborhood(),
+                address.getCity(),
+                address.getState(),
+                new ZipCode(address.getZipCode()));
+    }
+
+}
@@ -1,37 +1,132 @@
 package it.guesser.algashop.ordering.infrastructure.persistence.disassembler;
 
+import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 
 import it.guesser.algashop.ordering.domain.entity.Order;
+import it.guesser.algashop.ordering.domain.entity.OrderItem;
 import it.guesser.algashop.ordering.domain.entity.OrderStatus;
 import it.guesser.algashop.ordering.domain.entity.PaymentMethod;
+import it.guesser.algashop.ordering.domain.repository.OrderSummary;
+import it.guesser.algashop.ordering.domain.valueobject.Address;
+import it.guesser.algashop.ordering.domain.valueobject.Billing;
+import it.guesser.algashop.ordering.domain.valueobject.Document;
+import it.guesser.algashop.ordering.domain.valueobject.Email;
+import it.guesser.algashop.ordering.domain.valueobject.FullName;
 import it.guesser.algashop.ordering.domain.valueobject.Money;
+import it.guesser.algashop.ordering.domain.valueobject.Phone;
+import it.guesser.algashop.ordering.domain.valueobject.ProductName;
 import it.guesser.algashop.ordering.domain.valueobject.Quantity;
+import it.guesser.algashop.ordering.domain.valueobject.Recipient;
+import it.guesser.algashop.ordering.domain.valueobject.Shipping;
+import it.guesser.algashop.ordering.domain.valueobject.ZipCode;
 import it.guesser.algashop.ordering.domain.valueobject.id.CustomerId;
 import it.guesser.algashop.ordering.domain.valueobject.id.OrderId;
+import it.guesser.algashop.ordering.domain.valueobject.id.OrderItemId;
+import it.guesser.algashop.ordering.domain.valueobject.id.ProductId;
+import it.guesser.algashop.ordering.infrastructure.persistence.embeddable.AddressEmbeddable;
+import it.guesser.algashop.ordering.infrastructure.persistence.embeddable.BillingEmbeddable;
+import it.guesser.algashop.ordering.infrastructure.persistence.embeddable.RecipientEmbeddable;
+import it.guesser.algashop.ordering.infrastructure.persistence.embeddable.ShippingEmbeddable;
+import it.guesser.algashop.ordering.infrastructure.persistence.entity.OrderItemPersistenceEntity;
 import it.guesser.algashop.ordering.infrastructure.persistence.entity.OrderPersistenceEntity;
+import it.guesser.algashop.ordering.infrastructure.persistence.repository.OrderSummaryRow;
 
 @Component
 public class OrderPersistenceEntityDisassembler {
 
     public Order toDomain(OrderPersistenceEntity persistenceEntity) {
+        OrderId orderId = new OrderId(persistenceEntity.getId());
+
         return Order.ofExistent(
-                new OrderId(persistenceEntity.getId()),
+                orderId,
                 new CustomerId(persistenceEntity.getCustomerId()),
                 new Money(persistenceEntity.getTotalAmount()),
-                new Quantity(persistenceEntity.getTotalItems()),
+                Quantity.of(persistenceEntity.getTotalItems()),
                 persistenceEntity.getPlacedAt(),
                 persistenceEntity.getPaidAt(),
                 persistenceEntity.getCanceledAt(),
                 persistenceEntity.getReadyAt(),
-                null,
-                null,
+                toBilling(persistenceEntity.getBilling()),
+                toShipping(persistenceEntity.getShipping()),
                 OrderStatus.valueOf(persistenceEntity.getStatus()),
                 PaymentMethod.valueOf(persistenceEntity.getPaymentMethod()),
-                Set.of(),
+                toDomainItems(orderId, persistenceEntity.getItems()),
                 persistenceEntity.getVersion());
     }
 
+    public OrderSummary toSummary(OrderSummaryRow row) {
+        return new OrderSummary(
+                new OrderId(row.id()),
+                new CustomerId(row.customerId()),
+                OrderStatus.valueOf(row.status()),
+                new Money(row.totalAmount()),
+                Quantity.of(row.totalItems()),
+                row.placedAt(),
+                row.paidAt(),
+                row.canceledAt(),
+                row.readyAt());
+    }
+
+    // Hibernate loads an embeddable whose columns are all null as null
+    private Billing toBilling(BillingEmbeddable billing) {
+        if (billing == null) {
+            return null;
+        }
+        return new Billing(
+                toFullName(billing.getFirstName(), billing.getLastName()),
+                new Document(billing.getDocument()),
+                new Phone(billing.getPhone()),
+                toAddress(billing.getAddress()),
+                new Email(billing.getEmail()));
+    }
+
+    private Shipping toShipping(ShippingEmbeddable shipping) {
+        if (shipping == null) {
+            return null;
+        }
+        return new Shipping(
+                new Money(shipping.getCost()),
+                shipping.getExpectedDate(),
+                toRecipient(shipping.getRecipient()),
+                toAddress(shipping.getAddress()));
+    }
+
+    private Recipient toRecipient(RecipientEmbeddable recipient) {
+        return new Recipient(
+                toFullName(recipient.getFirstName(), recipient.getLastName()),
+                new Document(recipient.getDocument()),
+                new Phone(recipient.getPhone()));
+    }
+
+    private FullName toFullName(String firstName, String lastName) {
+        return new FullName(lastName == null ? firstName : firstName + " " + lastName);
+    }
+
+    private Address toAddress(AddressEmbeddable address) {
+        return new Address(
+                address.getStreet(),
+                address.getComplement(),
+                address.getNeighborhood(),
+                address.getCity(),
+                address.getState(),
+                new ZipCode(address.getZipCode()));
+    }
+
+    private Set<OrderItem> toDomainItems(OrderId orderId, Set<OrderItemPersistenceEntity> items) {
+        return items.stream()
+                .map(item -> OrderItem.ofExistent(
+                        new OrderItemId(item.getId()),
+                        orderId,
+                        new ProductId(item.getProductId()),
+                        new ProductName(item.getProductName()),
+                        new Money(item.getProductPrice()),
+                        Quantity.of(item.getQuantity()),
+                        new Money(item.getTotalAmount())))
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
 }
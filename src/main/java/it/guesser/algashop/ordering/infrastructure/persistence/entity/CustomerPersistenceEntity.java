@@ -0,0 +1,83 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.entity;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import it.guesser.algashop.ordering.infrastructure.persistence.embeddable.AddressEmbeddable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Entity
+@Table(name = "customer", indexes = {
+        @Index(name = "uk_customer_normalized_email", columnList = "normalized_email", unique = true),
+        @Index(name = "uk_customer_normalized_document", columnList = "normalized_document", unique = true)
+})
+@Getter
+@Setter
+@ToString(of = "id")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class CustomerPersistenceEntity {
+
+    @Id
+    @EqualsAndHashCode.Include
+    private UUID id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private LocalDate birthDate;
+
+    private String email;
+
+    // Lookup key, see NaturalKeys
+    @Column(name = "normalized_email", nullable = false)
+    private String normalizedEmail;
+
+    private String phone;
+
+    private String document;
+
+    // Lookup key, see NaturalKeys. Null once archived, as every archived customer shares the anonymous document
+    @Column(name = "normalized_document")
+    private String normalizedDocument;
+
+    private long registeredAt;
+
+    private boolean promotionNotificationsAllowed;
+
+    private boolean archived;
+
+    private long archivedAt;
+
+    private int loyaltyPoints;
+
+    private AddressEmbeddable address;
+
+    @Version
+    private long version;
+
+    @PrePersist
+    void prePersist() {
+        // Persisted rows start at version 1, version 0 means "never persisted" for the domain
+        if (version == 0) {
+            version = 1;
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.entity;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Entity
+@Table(name = "order_item")
+@Getter
+@Setter
+@ToString(of = "id")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class OrderItemPersistenceEntity {
+
+    @Id
+    @EqualsAndHashCode.Include
+    private long id; // TSID
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "order_id", nullable = false)
+    private OrderPersistenceEntity order;
+
+    private UUID productId;
+
+    private String productName;
+
+    private BigDecimal productPrice;
+
+    private Integer quantity;
+
+    private BigDecimal totalAmount;
+
+}
@@ -1,12 +1,18 @@
 package it.guesser.algashop.ordering.infrastructure.persistence.entity;
 
 import java.math.BigDecimal;
-import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
+import it.guesser.algashop.ordering.domain.utils.DomainClock;
+import it.guesser.algashop.ordering.infrastructure.auditing.AuditingContext;
 import it.guesser.algashop.ordering.infrastructure.persistence.embeddable.BillingEmbeddable;
 import it.guesser.algashop.ordering.infrastructure.persistence.embeddable.ShippingEmbeddable;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.LastModifiedBy;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -21,7 +27,9 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
-@Table(name = "\"order\"")
+// managed updates (saveAll) only write the columns that are actually dirty
+@DynamicUpdate
+@Table(name = "\"order\"", indexes = @Index(name = "idx_order_customer_id_id", columnList = "customer_id, id"))
 @Getter
 @Setter
 @ToString(of = "id")
@@ -66,18 +74,26 @@ public class OrderPersistenceEntity {
 
     private ShippingEmbeddable shipping;
 
+    // SUBSELECT: loading N orders with one query loads all their items with one more query
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Fetch(FetchMode.SUBSELECT)
+    @Builder.Default
+    private Set<OrderItemPersistenceEntity> items = new HashSet<>();
+
     @PrePersist
     void prePersist() {
-        // TODO: WHEN AUTHENTICATION IS DONE, ADJUST THAT TO GET USER FROM CONTEXT
-        createByUserId = UUID.randomUUID();
+        // Persisted rows start at version 1, version 0 means "never persisted" for the domain
+        if (version == 0) {
+            version = 1;
+        }
+        createByUserId = AuditingContext.currentUserId();
         lastModifiedByUserId = createByUserId;
-        lastModifiedAt = Instant.now().toEpochMilli();
+        lastModifiedAt = DomainClock.currentTimeMillis();
     }
 
     @PreUpdate
     void preUpdate() {
-        // TODO: WHEN AUTHENTICATION IS DONE, ADJUST THAT TO GET USER FROM CONTEXT
-        lastModifiedByUserId = createByUserId;
-        lastModifiedAt = Instant.now().toEpochMilli();
+        lastModifiedByUserId = AuditingContext.currentUserId();
+        lastModifiedAt = DomainClock.currentTimeMillis();
     }
 }
@@ -0,0 +1,36 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+// One row per TSID node id ever handed out, owned by instanceId until leasedUntil (epoch millis)
+@Entity
+@Table(name = "tsid_node_lease")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class TsidNodeLeasePersistenceEntity {
+
+    @Id
+    @Column(name = "node_id")
+    @EqualsAndHashCode.Include
+    private int nodeId;
+
+    @Column(name = "instance_id", nullable = false)
+    private String instanceId;
+
+    @Column(name = "leased_until", nullable = false)
+    private long leasedUntil;
+
+}
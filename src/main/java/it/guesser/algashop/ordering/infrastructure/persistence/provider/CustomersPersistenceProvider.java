@@ -0,0 +1,174 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.provider;
+
+import static it.guesser.algashop.ordering.infrastructure.persistence.utils.AggregateFieldAccessors.CUSTOMER_VERSION;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import it.guesser.algashop.ordering.domain.entity.Customer;
+import it.guesser.algashop.ordering.domain.repository.Customers;
+import it.guesser.algashop.ordering.domain.valueobject.Document;
+import it.guesser.algashop.ordering.domain.valueobject.Email;
+import it.guesser.algashop.ordering.domain.valueobject.id.CustomerId;
+import it.guesser.algashop.ordering.infrastructure.persistence.assembler.CustomerPersistenceEntityAssembler;
+import it.guesser.algashop.ordering.infrastructure.persistence.disassembler.CustomerPersistenceEntityDisassembler;
+import it.guesser.algashop.ordering.infrastructure.persistence.entity.CustomerPersistenceEntity;
+import it.guesser.algashop.ordering.infrastructure.persistence.repository.CustomerPersistenceEntityRepository;
+import it.guesser.algashop.ordering.infrastructure.persistence.utils.NaturalKeys;
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class CustomersPersistenceProvider implements Customers {
+
+    private final CustomerPersistenceEntityRepository repository;
+    private final CustomerPersistenceEntityAssembler assembler;
+    private final CustomerPersistenceEntityDisassembler disassembler;
+    private final EntityManager entityManager;
+
+    // Same value used by Hibernate for JDBC batching, so one chunk = one batch per statement type
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    public Optional<Customer> ofId(CustomerId id) {
+        return repository.findById(id.value()).map(disassembler::toDomain);
+    }
+
+    @Override
+    public List<Customer> ofIds(Collection<CustomerId> ids) {
+        List<Customer> customers = new ArrayList<>(ids.size());
+
+        for (List<UUID> chunk : chunked(toPersistenceIds(ids))) {
+            repository.findAllById(chunk).forEach(entity -> customers.add(disassembler.toDomain(entity)));
+        }
+
+        return customers;
+    }
+
+    @Override
+    public Optional<Customer> ofEmail(Email email) {
+        return repository.findByNormalizedEmail(NaturalKeys.normalize(email)).map(disassembler::toDomain);
+    }
+
+    @Override
+    public Optional<Customer> ofDocument(Document document) {
+        return repository.findByNormalizedDocument(NaturalKeys.normalize(document)).map(disassembler::toDomain);
+    }
+
+    @Override
+    public boolean isEmailInUse(Email email) {
+        return repository.existsByNormalizedEmail(NaturalKeys.normalize(email));
+    }
+
+    @Override
+    public boolean exists(CustomerId id) {
+        return repository.existsById(id.value());
+    }
+
+    @Override
+    public Set<CustomerId> existing(Collection<CustomerId> ids) {
+        Set<CustomerId> existing = new HashSet<>();
+
+        for (List<UUID> chunk : chunked(toPersistenceIds(ids))) {
+            repository.findExistingIds(chunk).forEach(id -> existing.add(new CustomerId(id)));
+        }
+
+        return existing;
+    }
+
+    /*
+     * Insert or update is decided by the aggregate version (0 = never persisted).
+     */
+    @Override
+    @Transactional
+    public void save(Customer aggregateRoot) {
+        saveAll(List.of(aggregateRoot));
+    }
+
+    /*
+     * Works in chunks of batchSize: new aggregates are persisted, existing ones are
+     * loaded with a single IN query and merged, then one flush sends the JDBC batches.
+     */
+    @Override
+    @Transactional
+    public void saveAll(Collection<Customer> aggregateRoots) {
+        for (List<Customer> chunk : chunked(List.copyOf(aggregateRoots))) {
+            saveChunk(chunk);
+        }
+    }
+
+    @Override
+    public long count() {
+        return repository.count();
+    }
+
+    private void saveChunk(List<Customer> chunk) {
+        List<Customer> toUpdate = new ArrayList<>();
+        Map<Customer, CustomerPersistenceEntity> persistenceEntities = new IdentityHashMap<>();
+
+        for (Customer customer : chunk) {
+            if (customer.getVersion() == 0) {
+                CustomerPersistenceEntity persistenceEntity = assembler.fromDomain(customer);
+                entityManager.persist(persistenceEntity);
+                persistenceEntities.put(customer, persistenceEntity);
+            } else {
+                toUpdate.add(customer);
+            }
+        }
+
+        if (!toUpdate.isEmpty()) {
+            Map<UUID, CustomerPersistenceEntity> existing = repository
+                    .findAllById(toPersistenceIds(toUpdate.stream().map(Customer::getId).toList()))
+                    .stream()
+                    .collect(Collectors.toMap(CustomerPersistenceEntity::getId, Function.identity()));
+
+            for (Customer customer : toUpdate) {
+                UUID customerId = customer.getId().value();
+                CustomerPersistenceEntity persistenceEntity = existing.get(customerId);
+                if (persistenceEntity == null || persistenceEntity.getVersion() != customer.getVersion()) {
+                    throw new ObjectOptimisticLockingFailureException(CustomerPersistenceEntity.class, customerId);
+                }
+                persistenceEntities.put(customer, assembler.merge(persistenceEntity, customer));
+            }
+        }
+
+        entityManager.flush();
+        persistenceEntities.forEach((customer, persistenceEntity) -> updateVersion(customer,
+                persistenceEntity.getVersion()));
+        // keeps the persistence context flat across chunks, other entities of the caller stay managed
+        persistenceEntities.values().forEach(entityManager::detach);
+    }
+
+    private List<UUID> toPersistenceIds(Collection<CustomerId> ids) {
+        return ids.stream().map(CustomerId::value).toList();
+    }
+
+    private <E> List<List<E>> chunked(List<E> elements) {
+        List<List<E>> chunks = new ArrayList<>();
+        for (int from = 0; from < elements.size(); from += batchSize) {
+            chunks.add(elements.subList(from, Math.min(from + batchSize, elements.size())));
+        }
+        return chunks;
+    }
+
+    private void updateVersion(Customer aggregateRoot, long newVersion) {
+        CUSTOMER_VERSION.set(aggregateRoot, newVersion);
+    }
+
+}
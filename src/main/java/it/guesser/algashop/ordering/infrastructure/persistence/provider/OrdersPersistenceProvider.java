@@ -1,54 +1,180 @@
 package it.guesser.algashop.ordering.infrastructure.persistence.provider;
 
-import java.lang.reflect.Field;
+import static it.guesser.algashop.ordering.infrastructure.persistence.utils.AggregateFieldAccessors.ORDER_VERSION;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import it.guesser.algashop.ordering.infrastructure.persistence.embeddable.AddressEmbeddable;
+import it.guesser.algashop.ordering.infrastructure.persistence.embeddable.BillingEmbeddable;
+import it.guesser.algashop.ordering.infrastructure.persistence.embeddable.RecipientEmbeddable;
+import it.guesser.algashop.ordering.infrastructure.persistence.embeddable.ShippingEmbeddable;
+import it.guesser.algashop.ordering.infrastructure.persistence.entity.OrderItemPersistenceEntity;
 import it.guesser.algashop.ordering.infrastructure.persistence.entity.OrderPersistenceEntity;
+import jakarta.annotation.Nullable;
 import jakarta.persistence.EntityManager;
-import lombok.SneakyThrows;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import it.guesser.algashop.ordering.domain.entity.Order;
+import it.guesser.algashop.ordering.domain.entity.OrderField;
+import it.guesser.algashop.ordering.domain.entity.OrderStatus;
+import it.guesser.algashop.ordering.domain.repository.OrderSummary;
 import it.guesser.algashop.ordering.domain.repository.Orders;
+import it.guesser.algashop.ordering.domain.utils.DomainClock;
+import it.guesser.algashop.ordering.domain.valueobject.id.CustomerId;
 import it.guesser.algashop.ordering.domain.valueobject.id.OrderId;
+import it.guesser.algashop.ordering.infrastructure.auditing.AuditingContext;
 import it.guesser.algashop.ordering.infrastructure.persistence.assembler.OrderPersistenceEntityAssembler;
+import it.guesser.algashop.ordering.infrastructure.persistence.cache.OrderSnapshotCache;
 import it.guesser.algashop.ordering.infrastructure.persistence.disassembler.OrderPersistenceEntityDisassembler;
+import it.guesser.algashop.ordering.infrastructure.persistence.repository.OrderIdAndStatus;
+import it.guesser.algashop.ordering.infrastructure.persistence.repository.OrderIdAndVersion;
+import it.guesser.algashop.ordering.infrastructure.persistence.repository.OrderItemPersistenceEntityRepository;
 import it.guesser.algashop.ordering.infrastructure.persistence.repository.OrderPersistenceEntityRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.util.ReflectionUtils;
 
 @Component
 @RequiredArgsConstructor
 public class OrdersPersistenceProvider implements Orders {
 
+    // Statuses that can be set in bulk and the timestamp each one sets
+    private static final Map<OrderStatus, String> BULK_STATUS_TIMESTAMPS = Map.of(
+            OrderStatus.PAID, "paidAt",
+            OrderStatus.READY, "readyAt",
+            OrderStatus.CANCELED, "canceledAt");
+
     private final OrderPersistenceEntityRepository repository;
+    private final OrderItemPersistenceEntityRepository itemRepository;
     private final OrderPersistenceEntityAssembler assembler;
     private final OrderPersistenceEntityDisassembler disassembler;
     private final EntityManager entityManager;
+    private final OrderSnapshotCache orderCache;
+
+    // Same value used by Hibernate for JDBC batching, so one chunk = one batch per statement type
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Order> ofId(OrderId id) {
-        return repository.findById(id.value().toLong()).map(disassembler::toDomain);
+        Optional<Order> cachedOrder = orderCache.get(id);
+        if (cachedOrder.isPresent()) {
+            return cachedOrder;
+        }
+
+        Optional<Order> order = repository.findById(id.value().toLong()).map(disassembler::toDomain);
+        order.ifPresent(orderCache::put);
+        return order;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> ofIds(Collection<OrderId> ids) {
+        List<Order> orders = new ArrayList<>(ids.size());
+
+        for (List<Long> chunk : chunked(toPersistenceIds(ids))) {
+            repository.findAllById(chunk).forEach(entity -> orders.add(disassembler.toDomain(entity)));
+        }
+
+        return orders;
+    }
+
+    @Override
+    public List<Order> ofCustomer(CustomerId customerId, @Nullable OrderId cursor, int limit) {
+        List<Long> pageIds = repository.findIdsOfCustomer(customerId.value(), toCursor(cursor), Limit.of(limit));
+
+        if (pageIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<OrderPersistenceEntity> persistenceEntities = repository.findAllWithItemsById(pageIds);
+        List<Order> page = persistenceEntities.stream().map(disassembler::toDomain).toList();
+        // keeps the persistence context flat when pages are read inside a long transaction
+        persistenceEntities.forEach(entityManager::detach);
+        return page;
+    }
+
+    /*
+     * Forward-only keyset cursor: pages of batchSize orders are read lazily as the stream is consumed,
+     * so memory is bounded by one page regardless of the customer history length.
+     */
+    @Override
+    public Stream<Order> streamOfCustomer(CustomerId customerId) {
+        return Stream.iterate(
+                        ofCustomer(customerId, null, batchSize),
+                        page -> !page.isEmpty(),
+                        page -> page.size() < batchSize
+                                ? List.of()
+                                : ofCustomer(customerId, page.getLast().getId(), batchSize))
+                .flatMap(List::stream);
+    }
+
+    @Override
+    public List<OrderSummary> summariesOfCustomer(CustomerId customerId, @Nullable OrderId cursor, int limit) {
+        return repository.findSummariesOfCustomer(customerId.value(), toCursor(cursor), Limit.of(limit)).stream()
+                .map(disassembler::toSummary)
+                .toList();
     }
 
     @Override
     public boolean exists(OrderId id) {
-        return ofId(id).isPresent();
+        return repository.existsById(id.value().toLong());
     }
 
     @Override
-    public void save(Order aggregateRoot) {
-        long orderId = aggregateRoot.getId().value().toLong();
+    public Set<OrderId> existing(Collection<OrderId> ids) {
+        Set<OrderId> existing = new HashSet<>();
 
-        repository.findById(orderId).ifPresentOrElse(
-                //UPDATE
-                (persistenceEntity) -> update(aggregateRoot, persistenceEntity),
-                // INSERT
-                () -> insert(aggregateRoot)
+        for (List<Long> chunk : chunked(toPersistenceIds(ids))) {
+            repository.findExistingIds(chunk).forEach(id -> existing.add(new OrderId(id)));
+        }
 
-        );
+        return existing;
+    }
 
+    /*
+     * Insert or update is decided by the aggregate version (0 = never persisted),
+     * so there is no pre-read and no forced flush. Legacy version 0 rows are moved to 1 by UnversionedRowsMigration.
+     */
+    @Override
+    @Transactional
+    public void save(Order aggregateRoot) {
+        if (aggregateRoot.getVersion() == 0) {
+            insert(aggregateRoot);
+        } else {
+            update(aggregateRoot);
+        }
+    }
 
+    /*
+     * Works in chunks of batchSize: new aggregates are persisted, existing ones are
+     * loaded with a single IN query and merged, then one flush sends the JDBC batches.
+     */
+    @Override
+    @Transactional
+    public void saveAll(Collection<Order> aggregateRoots) {
+        for (List<Order> chunk : chunked(List.copyOf(aggregateRoots))) {
+            saveChunk(chunk);
+        }
     }
 
     @Override
@@ -56,26 +182,292 @@ public class OrdersPersistenceProvider implements Orders {
         return repository.count();
     }
 
-    private void update(Order aggregateRoot, OrderPersistenceEntity entity) {
-        OrderPersistenceEntity persistenceEntity = assembler.merge(entity, aggregateRoot);
-        entityManager.detach(persistenceEntity);
-        repository.saveAndFlush(persistenceEntity);
+    /*
+     * Per chunk: one read of the current statuses, validated in memory against the transition table,
+     * then one UPDATE ... WHERE id IN (...) AND status IN (allowed sources) for the valid ones.
+     */
+    @Override
+    @Transactional
+    public Set<OrderId> changeStatus(Collection<OrderId> ids, OrderStatus newStatus) {
+        requireNonNull(ids);
+        String timestampAttribute = BULK_STATUS_TIMESTAMPS.get(requireNonNull(newStatus));
+        if (timestampAttribute == null) {
+            throw new IllegalArgumentException("Orders cannot be changed to %s in bulk".formatted(newStatus));
+        }
 
+        long now = DomainClock.currentTimeMillis();
+        Set<OrderId> failedIds = new HashSet<>();
+        for (List<Long> chunk : chunked(toPersistenceIds(ids))) {
+            changeStatusOfChunk(chunk, newStatus, timestampAttribute, now)
+                    .forEach(id -> failedIds.add(new OrderId(id)));
+        }
+        return failedIds;
     }
 
+    private Set<Long> changeStatusOfChunk(List<Long> chunk, OrderStatus newStatus, String timestampAttribute,
+            long now) {
+        Set<Long> changeableIds = new HashSet<>();
+        for (OrderIdAndStatus order : repository.findStatusesById(chunk)) {
+            if (OrderStatus.valueOf(order.status()).canChangeTo(newStatus)) {
+                changeableIds.add(order.id());
+            }
+        }
+
+        if (!changeableIds.isEmpty()) {
+            updateStatus(changeableIds, newStatus, timestampAttribute, now);
+            /*
+             * The updated rows stay locked until commit, so these are the versions written here. Some orders may
+             * have changed between the read and the update, only the ones now in the new status are kept.
+             * The versions are handed to the cache, so a reader's snapshot of the old status is not cached back.
+             */
+            Map<Long, Long> writtenVersions = repository.findVersionsWithStatus(changeableIds, newStatus.name())
+                    .stream()
+                    .collect(Collectors.toMap(OrderIdAndVersion::id, OrderIdAndVersion::version));
+            changeableIds.retainAll(writtenVersions.keySet());
+            writtenVersions.forEach((id, version) -> orderCache.invalidate(new OrderId(id), version));
+        }
+
+        Set<Long> failedIds = new HashSet<>(chunk);
+        failedIds.removeAll(changeableIds);
+        return failedIds;
+    }
+
+    private void updateStatus(Set<Long> ids, OrderStatus newStatus, String timestampAttribute, long now) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<OrderPersistenceEntity> update = criteriaBuilder
+                .createCriteriaUpdate(OrderPersistenceEntity.class);
+        Root<OrderPersistenceEntity> order = update.from(OrderPersistenceEntity.class);
+
+        update.set(order.get("status"), newStatus.name());
+        update.set(order.get(timestampAttribute), now);
+        incrementVersionAndAudit(criteriaBuilder, update, order, now);
+        update.where(
+                order.get("id").in(ids),
+                order.get("status").in(newStatus.allowedSources().stream().map(OrderStatus::name).toList()));
+
+        execute(update, ids);
+    }
+
+    private void saveChunk(List<Order> chunk) {
+        List<Order> toUpdate = new ArrayList<>();
+        Map<Order, OrderPersistenceEntity> persistenceEntities = new IdentityHashMap<>();
+
+        for (Order order : chunk) {
+            if (order.getVersion() == 0) {
+                OrderPersistenceEntity persistenceEntity = assembler.fromDomain(order);
+                entityManager.persist(persistenceEntity);
+                persistenceEntities.put(order, persistenceEntity);
+            } else {
+                toUpdate.add(order);
+            }
+        }
+
+        if (!toUpdate.isEmpty()) {
+            Map<Long, OrderPersistenceEntity> existing = repository
+                    .findAllById(toPersistenceIds(toUpdate.stream().map(Order::getId).toList()))
+                    .stream()
+                    .collect(Collectors.toMap(OrderPersistenceEntity::getId, Function.identity()));
+
+            for (Order order : toUpdate) {
+                long orderId = order.getId().value().toLong();
+                OrderPersistenceEntity persistenceEntity = existing.get(orderId);
+                if (persistenceEntity == null || persistenceEntity.getVersion() != order.getVersion()) {
+                    orderCache.invalidate(order.getId());
+                    throw new ObjectOptimisticLockingFailureException(OrderPersistenceEntity.class, orderId);
+                }
+                persistenceEntities.put(order, assembler.merge(persistenceEntity, order));
+            }
+        }
+
+        entityManager.flush();
+        persistenceEntities.forEach((order, persistenceEntity) -> {
+            updateVersion(order, persistenceEntity.getVersion());
+            order.clearChangedFields();
+            cacheAfterCommit(order);
+        });
+        // keeps the persistence context flat across chunks, other entities of the caller stay managed
+        persistenceEntities.values().forEach(entityManager::detach);
+    }
+
+    /*
+     * Versioned UPDATE of only the columns behind the changed fields, with no pre-read of the row.
+     * Status transitions end up as a handful of columns plus the version.
+     */
+    private void update(Order aggregateRoot) {
+        if (!aggregateRoot.hasChanges()) {
+            return;
+        }
+
+        Set<OrderField> changedFields = aggregateRoot.getChangedFields();
+        OrderPersistenceEntity persistenceEntity = assembler.fromDomain(aggregateRoot);
+
+        int updatedRows = updateChangedColumns(persistenceEntity, changedFields);
+        if (updatedRows == 0) {
+            orderCache.invalidate(aggregateRoot.getId());
+            throw new ObjectOptimisticLockingFailureException(OrderPersistenceEntity.class, persistenceEntity.getId());
+        }
+        if (changedFields.contains(OrderField.ITEMS)) {
+            replaceItems(persistenceEntity);
+        }
+
+        updateVersion(aggregateRoot, persistenceEntity.getVersion() + 1);
+        aggregateRoot.clearChangedFields();
+        cacheAfterCommit(aggregateRoot);
+    }
+
+    private int updateChangedColumns(OrderPersistenceEntity persistenceEntity, Set<OrderField> changedFields) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<OrderPersistenceEntity> update = criteriaBuilder
+                .createCriteriaUpdate(OrderPersistenceEntity.class);
+        Root<OrderPersistenceEntity> order = update.from(OrderPersistenceEntity.class);
+
+        for (OrderField changedField : changedFields) {
+            switch (changedField) {
+                case STATUS -> update.set(order.get("status"), persistenceEntity.getStatus());
+                case PAYMENT_METHOD -> update.set(order.get("paymentMethod"), persistenceEntity.getPaymentMethod());
+                case PLACED_AT -> update.set(order.get("placedAt"), persistenceEntity.getPlacedAt());
+                case PAID_AT -> update.set(order.get("paidAt"), persistenceEntity.getPaidAt());
+                case CANCELED_AT -> update.set(order.get("canceledAt"), persistenceEntity.getCanceledAt());
+                case READY_AT -> update.set(order.get("readyAt"), persistenceEntity.getReadyAt());
+                case TOTALS -> {
+                    update.set(order.get("totalAmount"), persistenceEntity.getTotalAmount());
+                    update.set(order.get("totalItems"), persistenceEntity.getTotalItems());
+                }
+                case BILLING -> setBilling(criteriaBuilder, update, order.get("billing"), persistenceEntity.getBilling());
+                case SHIPPING -> setShipping(criteriaBuilder, update, order.get("shipping"), persistenceEntity.getShipping());
+                // items are written by replaceItems
+                case ITEMS -> {
+                }
+            }
+        }
+
+        incrementVersionAndAudit(criteriaBuilder, update, order, DomainClock.currentTimeMillis());
+        update.where(
+                criteriaBuilder.equal(order.get("id"), persistenceEntity.getId()),
+                criteriaBuilder.equal(order.get("version"), persistenceEntity.getVersion()));
+
+        return execute(update, List.of(persistenceEntity.getId()));
+    }
+
+    // Embedded values are written column by column, a null embeddable clears all of them
+    private void setBilling(CriteriaBuilder criteriaBuilder, CriteriaUpdate<OrderPersistenceEntity> update,
+            Path<BillingEmbeddable> billing, @Nullable BillingEmbeddable value) {
+        BillingEmbeddable source = value == null ? new BillingEmbeddable() : value;
+        setColumn(criteriaBuilder, update, billing.get("firstName"), source.getFirstName());
+        setColumn(criteriaBuilder, update, billing.get("lastName"), source.getLastName());
+        setColumn(criteriaBuilder, update, billing.get("document"), source.getDocument());
+        setColumn(criteriaBuilder, update, billing.get("phone"), source.getPhone());
+        setColumn(criteriaBuilder, update, billing.get("email"), source.getEmail());
+        setAddress(criteriaBuilder, update, billing.get("address"), source.getAddress());
+    }
+
+    private void setShipping(CriteriaBuilder criteriaBuilder, CriteriaUpdate<OrderPersistenceEntity> update,
+            Path<ShippingEmbeddable> shipping, @Nullable ShippingEmbeddable value) {
+        ShippingEmbeddable source = value == null ? new ShippingEmbeddable() : value;
+        RecipientEmbeddable recipient = source.getRecipient() == null ? new RecipientEmbeddable() : source.getRecipient();
+        setColumn(criteriaBuilder, update, shipping.get("cost"), source.getCost());
+        setColumn(criteriaBuilder, update, shipping.get("expectedDate"), source.getExpectedDate());
+        setColumn(criteriaBuilder, update, shipping.get("recipient").get("firstName"), recipient.getFirstName());
+        setColumn(criteriaBuilder, update, shipping.get("recipient").get("lastName"), recipient.getLastName());
+        setColumn(criteriaBuilder, update, shipping.get("recipient").get("document"), recipient.getDocument());
+        setColumn(criteriaBuilder, update, shipping.get("recipient").get("phone"), recipient.getPhone());
+        setAddress(criteriaBuilder, update, shipping.get("address"), source.getAddress());
+    }
+
+    private void setAddress(CriteriaBuilder criteriaBuilder, CriteriaUpdate<OrderPersistenceEntity> update,
+            Path<AddressEmbeddable> address, @Nullable AddressEmbeddable value) {
+        AddressEmbeddable source = value == null ? new AddressEmbeddable() : value;
+        setColumn(criteriaBuilder, update, address.get("street"), source.getStreet());
+        setColumn(criteriaBuilder, update, address.get("complement"), source.getComplement());
+        setColumn(criteriaBuilder, update, address.get("neighborhood"), source.getNeighborhood());
+        setColumn(criteriaBuilder, update, address.get("city"), source.getCity());
+        setColumn(criteriaBuilder, update, address.get("state"), source.getState());
+        setColumn(criteriaBuilder, update, address.get("zipCode"), source.getZipCode());
+    }
+
+    private <Y> void setColumn(CriteriaBuilder criteriaBuilder, CriteriaUpdate<OrderPersistenceEntity> update,
+            Path<Y> column, @Nullable Y value) {
+        if (value == null) {
+            update.set(column, criteriaBuilder.nullLiteral(column.getJavaType()));
+        } else {
+            update.set(column, value);
+        }
+    }
+
+    private void incrementVersionAndAudit(CriteriaBuilder criteriaBuilder,
+            CriteriaUpdate<OrderPersistenceEntity> update, Root<OrderPersistenceEntity> order, long now) {
+        Path<Long> version = order.get("version");
+        update.set(version, criteriaBuilder.sum(version, 1L));
+        update.set(order.get("lastModifiedAt"), now);
+        update.set(order.<UUID>get("lastModifiedByUserId"), AuditingContext.currentUserId());
+    }
+
+    private int execute(CriteriaUpdate<OrderPersistenceEntity> update, Collection<Long> ids) {
+        entityManager.flush();
+        int updatedRows = entityManager.createQuery(update).executeUpdate();
+        detachOrders(ids);
+        return updatedRows;
+    }
+
+    /*
+     * Bulk statements bypass the persistence context, so managed copies of the touched rows are stale afterwards.
+     * Only those are detached (getReference hands back the managed instance, or an unloaded proxy when there is
+     * none, and detaching an order cascades to its loaded items), anything else the caller has stays managed.
+     */
+    private void detachOrders(Collection<Long> ids) {
+        ids.forEach(id -> entityManager.detach(entityManager.getReference(OrderPersistenceEntity.class, id)));
+    }
+
+    /*
+     * One bulk delete plus the current lines as batched inserts, no pre-read of the existing lines.
+     */
+    private void replaceItems(OrderPersistenceEntity persistenceEntity) {
+        itemRepository.deleteAllOfOrder(persistenceEntity.getId());
+        detachOrders(List.of(persistenceEntity.getId()));
+
+        OrderPersistenceEntity orderReference = entityManager.getReference(OrderPersistenceEntity.class,
+                persistenceEntity.getId());
+        for (OrderItemPersistenceEntity item : persistenceEntity.getItems()) {
+            item.setOrder(orderReference);
+            entityManager.persist(item);
+        }
+    }
 
     private void insert(Order aggregateRoot) {
         var persistenceEntity = assembler.fromDomain(aggregateRoot);
-        repository.saveAndFlush(persistenceEntity);
-        updateVersion(aggregateRoot, persistenceEntity);
+        entityManager.persist(persistenceEntity);
+        updateVersion(aggregateRoot, persistenceEntity.getVersion());
+        aggregateRoot.clearChangedFields();
+        cacheAfterCommit(aggregateRoot);
+    }
+
+    /*
+     * The cached snapshot is stale as soon as the row is written: it is evicted right away, so a later ofId
+     * in the same transaction reads the new version, and the new snapshot is cached once the transaction commits.
+     */
+    private void cacheAfterCommit(Order aggregateRoot) {
+        orderCache.evict(aggregateRoot.getId());
+        orderCache.put(aggregateRoot);
+    }
+
+    private long toCursor(@Nullable OrderId cursor) {
+        return cursor == null ? Long.MIN_VALUE : cursor.value().toLong();
+    }
+
+    private List<Long> toPersistenceIds(Collection<OrderId> ids) {
+        return ids.stream().map(id -> id.value().toLong()).toList();
+    }
+
+    private <E> List<List<E>> chunked(List<E> elements) {
+        List<List<E>> chunks = new ArrayList<>();
+        for (int from = 0; from < elements.size(); from += batchSize) {
+            chunks.add(elements.subList(from, Math.min(from + batchSize, elements.size())));
+        }
+        return chunks;
     }
 
-    @SneakyThrows
-    private void updateVersion(Order aggregateRoot, OrderPersistenceEntity persistenceEntity) {
-        Field version = aggregateRoot.getClass().getDeclaredField("version");
-        version.setAccessible(true);
-        ReflectionUtils.setField(version, aggregateRoot, persistenceEntity.getVersion());
-        version.setAccessible(false);
+    private void updateVersion(Order aggregateRoot, long newVersion) {
+        ORDER_VERSION.set(aggregateRoot, newVersion);
     }
 
 
@@ -0,0 +1,34 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import it.guesser.algashop.ordering.infrastructure.persistence.entity.CustomerPersistenceEntity;
+
+public interface CustomerPersistenceEntityRepository extends JpaRepository<CustomerPersistenceEntity, UUID> {
+
+    @Query("select c.id from CustomerPersistenceEntity c where c.id in :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    // Unique index seek on normalized_email
+    Optional<CustomerPersistenceEntity> findByNormalizedEmail(String normalizedEmail);
+
+    // Unique index seek on normalized_document
+    Optional<CustomerPersistenceEntity> findByNormalizedDocument(String normalizedDocument);
+
+    // Answered from the normalized_email index only, the row is never read
+    boolean existsByNormalizedEmail(String normalizedEmail);
+
+    // Rows written before versions started at 1, see UnversionedRowsMigration
+    @Modifying
+    @Query("update CustomerPersistenceEntity c set c.version = 1 where c.version = 0")
+    int promoteUnversionedRows();
+
+}
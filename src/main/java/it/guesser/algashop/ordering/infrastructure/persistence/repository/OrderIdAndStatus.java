@@ -0,0 +1,5 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.repository;
+
+public record OrderIdAndStatus(long id, String status) {
+
+}
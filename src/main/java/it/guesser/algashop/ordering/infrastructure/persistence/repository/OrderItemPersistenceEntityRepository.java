@@ -0,0 +1,19 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import it.guesser.algashop.ordering.infrastructure.persistence.entity.OrderItemPersistenceEntity;
+
+public interface OrderItemPersistenceEntityRepository extends JpaRepository<OrderItemPersistenceEntity, Long> {
+
+    // The caller detaches the order's stale lines, the rest of the persistence context stays managed
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("delete from OrderItemPersistenceEntity i where i.order.id = :orderId")
+    int deleteAllOfOrder(@Param("orderId") long orderId);
+
+}
@@ -1,9 +1,61 @@
 package it.guesser.algashop.ordering.infrastructure.persistence.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import it.guesser.algashop.ordering.infrastructure.persistence.entity.OrderPersistenceEntity;
 
 public interface OrderPersistenceEntityRepository extends JpaRepository<OrderPersistenceEntity, Long> {
 
+    @Query("select o.id from OrderPersistenceEntity o where o.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Keyset page answered from the (customer_id, id) index only
+    @Query("""
+            select o.id from OrderPersistenceEntity o
+            where o.customerId = :customerId and o.id > :afterId
+            order by o.id
+            """)
+    List<Long> findIdsOfCustomer(@Param("customerId") UUID customerId, @Param("afterId") long afterId, Limit limit);
+
+    @Query("""
+            select new it.guesser.algashop.ordering.infrastructure.persistence.repository.OrderSummaryRow(
+                o.id, o.customerId, o.status, o.totalAmount, o.totalItems,
+                o.placedAt, o.paidAt, o.canceledAt, o.readyAt)
+            from OrderPersistenceEntity o
+            where o.customerId = :customerId and o.id > :afterId
+            order by o.id
+            """)
+    List<OrderSummaryRow> findSummariesOfCustomer(@Param("customerId") UUID customerId, @Param("afterId") long afterId,
+            Limit limit);
+
+    @Query("select distinct o from OrderPersistenceEntity o left join fetch o.items where o.id in :ids order by o.id")
+    List<OrderPersistenceEntity> findAllWithItemsById(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new it.guesser.algashop.ordering.infrastructure.persistence.repository.OrderIdAndStatus(o.id, o.status)
+            from OrderPersistenceEntity o
+            where o.id in :ids
+            """)
+    List<OrderIdAndStatus> findStatusesById(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new it.guesser.algashop.ordering.infrastructure.persistence.repository.OrderIdAndVersion(o.id, o.version)
+            from OrderPersistenceEntity o
+            where o.id in :ids and o.status = :status
+            """)
+    List<OrderIdAndVersion> findVersionsWithStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    // Rows written before versions started at 1, see UnversionedRowsMigration
+    @Modifying
+    @Query("update OrderPersistenceEntity o set o.version = 1 where o.version = 0")
+    int promoteUnversionedRows();
+
 }
@@ -0,0 +1,10 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Columns of an OrderSummary as selected, mapped to the domain type by the disassembler
+public record OrderSummaryRow(long id, UUID customerId, String status, BigDecimal totalAmount, Integer totalItems,
+        long placedAt, long paidAt, long canceledAt, long readyAt) {
+
+}
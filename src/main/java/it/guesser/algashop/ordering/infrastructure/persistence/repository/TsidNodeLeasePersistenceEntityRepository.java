@@ -0,0 +1,42 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import it.guesser.algashop.ordering.infrastructure.persistence.entity.TsidNodeLeasePersistenceEntity;
+
+public interface TsidNodeLeasePersistenceEntityRepository extends JpaRepository<TsidNodeLeasePersistenceEntity, Integer> {
+
+    Optional<TsidNodeLeasePersistenceEntity> findFirstByLeasedUntilLessThanOrderByNodeIdAsc(long now);
+
+    // Plain insert, fails on the primary key when another instance created the same node id first
+    @Modifying
+    @Query(value = """
+            insert into tsid_node_lease (node_id, instance_id, leased_until)
+            values (:nodeId, :instanceId, :leasedUntil)
+            """, nativeQuery = true)
+    int insert(@Param("nodeId") int nodeId, @Param("instanceId") String instanceId,
+            @Param("leasedUntil") long leasedUntil);
+
+    // Compare-and-set on the expiry that was read, only one of the instances racing for the node wins
+    @Modifying
+    @Query("""
+            update TsidNodeLeasePersistenceEntity l set l.instanceId = :instanceId, l.leasedUntil = :leasedUntil
+            where l.nodeId = :nodeId and l.leasedUntil = :expectedLeasedUntil
+            """)
+    int claim(@Param("nodeId") int nodeId, @Param("expectedLeasedUntil") long expectedLeasedUntil,
+            @Param("instanceId") String instanceId, @Param("leasedUntil") long leasedUntil);
+
+    @Modifying
+    @Query("""
+            update TsidNodeLeasePersistenceEntity l set l.leasedUntil = :leasedUntil
+            where l.nodeId = :nodeId and l.instanceId = :instanceId
+            """)
+    int renew(@Param("nodeId") int nodeId, @Param("instanceId") String instanceId,
+            @Param("leasedUntil") long leasedUntil);
+
+}
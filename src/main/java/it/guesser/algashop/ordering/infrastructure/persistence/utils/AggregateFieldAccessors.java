@@ -0,0 +1,26 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.utils;
+
+import it.guesser.algashop.ordering.domain.entity.Customer;
+import it.guesser.algashop.ordering.domain.entity.Order;
+import it.guesser.algashop.ordering.domain.entity.ShoppingCart;
+
+/*
+ * Persistence managed fields of the aggregates, which the domain does not expose setters for.
+ */
+public class AggregateFieldAccessors {
+
+    public static final LongFieldAccessor<Order> ORDER_VERSION = LongFieldAccessor.of(Order.class, "version");
+
+    public static final LongFieldAccessor<Customer> CUSTOMER_VERSION = LongFieldAccessor.of(Customer.class, "version");
+
+    public static final LongFieldAccessor<ShoppingCart> SHOPPING_CART_VERSION = LongFieldAccessor
+            .of(ShoppingCart.class, "version");
+
+    public static final LongFieldAccessor<ShoppingCart> SHOPPING_CART_CREATED_AT = LongFieldAccessor
+            .of(ShoppingCart.class, "createdAt");
+
+    private AggregateFieldAccessors() {
+
+    }
+
+}
@@ -2,13 +2,13 @@ package it.guesser.algashop.ordering.infrastructure.persistence.utils;
 
 import it.guesser.algashop.ordering.domain.valueobject.FullName;
 
-import java.util.Arrays;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
+/*
+ * Names are separated by single spaces, first name is the first one and last name is
+ * every following non-blank name joined by a space. Scans the string once, no split or streams.
+ */
 public class FullNameUtil {
 
     private FullNameUtil() {
@@ -18,31 +18,40 @@ public class FullNameUtil {
     public static Optional<String> getFirstName(FullName fullName) {
         Objects.requireNonNull(fullName);
 
-        String[] names = fullName.fullName().split(" ");
+        String names = fullName.fullName();
+        int firstSpace = names.indexOf(' ');
 
-        if (names.length < 1) {
-            return Optional.empty();
-        }
-
-        return Optional.of(names[0].trim());
+        return Optional.of((firstSpace < 0 ? names : names.substring(0, firstSpace)).trim());
     }
 
     public static Optional<String> getLastName(FullName fullName) {
         Objects.requireNonNull(fullName);
 
-        String[] names = fullName.fullName().split(" ");
+        String names = fullName.fullName();
+        int firstSpace = names.indexOf(' ');
 
-        if (names.length <= 1) {
+        if (firstSpace < 0) {
             return Optional.empty();
         }
 
-        List<String> namesList = Arrays.stream(Arrays.copyOfRange(names, 1, names.length))
-                .filter(Predicate.not(String::isBlank))
-                .map(String::trim)
-                .toList();
-        String lastName = String.join(" ", namesList);
-        return Optional.of(lastName);
+        StringBuilder lastName = new StringBuilder(names.length() - firstSpace);
+        int nameStart = firstSpace + 1;
+        while (nameStart <= names.length()) {
+            int nameEnd = names.indexOf(' ', nameStart);
+            if (nameEnd < 0) {
+                nameEnd = names.length();
+            }
+
+            String name = names.substring(nameStart, nameEnd);
+            if (!name.isBlank()) {
+                if (!lastName.isEmpty()) {
+                    lastName.append(' ');
+                }
+                lastName.append(name.trim());
+            }
+            nameStart = nameEnd + 1;
+        }
+        return Optional.of(lastName.toString());
     }
 
-
 }
@@ -0,0 +1,40 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.utils;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/*
+ * Writes a private long field of a domain class through a VarHandle resolved once.
+ * Keep instances in static final fields so the JIT can treat the handle as a constant.
+ */
+public record LongFieldAccessor<T>(Class<T> type, VarHandle varHandle) {
+
+    public LongFieldAccessor {
+        requireNonNull(type);
+        requireNonNull(varHandle);
+    }
+
+    public static <T> LongFieldAccessor<T> of(Class<T> type, String fieldName) {
+        requireNonNull(type);
+        requireNonNull(fieldName);
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            return new LongFieldAccessor<>(type, lookup.findVarHandle(type, fieldName, long.class));
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(
+                    String.format("Cannot access long field %s of %s", fieldName, type.getName()), e);
+        }
+    }
+
+    public long get(T target) {
+        return (long) varHandle.get(requireNonNull(target));
+    }
+
+    public void set(T target, long value) {
+        varHandle.set(requireNonNull(target), value);
+    }
+
+}
@@ -0,0 +1,39 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.utils;
+
+import java.util.Locale;
+import java.util.Objects;
+
+import it.guesser.algashop.ordering.domain.valueobject.Document;
+import it.guesser.algashop.ordering.domain.valueobject.Email;
+
+/*
+ * Canonical forms of the customer natural keys, stored in their own indexed columns
+ * so lookups are a plain equality match on a unique index.
+ */
+public class NaturalKeys {
+
+    private NaturalKeys() {
+
+    }
+
+    public static String normalize(Email email) {
+        Objects.requireNonNull(email);
+        return email.value().trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Punctuation is only formatting: "123.456.789-00" and "12345678900" are the same document
+    public static String normalize(Document document) {
+        Objects.requireNonNull(document);
+
+        String value = document.value();
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toUpperCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+}
@@ -0,0 +1,98 @@
+package it.guesser.algashop.ordering.application.cart;
+
+import static it.guesser.algashop.ordering.domain.valueobject.ProductDataTestBuilder.aProductInStock;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import it.guesser.algashop.ordering.domain.entity.ShoppingCart;
+import it.guesser.algashop.ordering.domain.valueobject.Quantity;
+import it.guesser.algashop.ordering.domain.valueobject.id.CustomerId;
+
+/*
+ * 100k active carts receiving interleaved addItem commands from several producers, compared with
+ * running each command on its own virtual thread under a lock on the cart.
+ * Runs with the benchmarks profile only (mvn test -Pbenchmarks), numbers are printed for comparison between runs.
+ */
+class CartCommandDispatcherBenchmark {
+
+    private static final int CARTS = 100_000;
+    private static final int COMMANDS_PER_CART = 5;
+
+    private final CartCommandDispatcher dispatcher = new CartCommandDispatcher();
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.destroy();
+    }
+
+    @Test
+    void lockedCartsVersusMailboxes() throws InterruptedException {
+        List<ShoppingCart> lockedCarts = startShopping();
+        long lockedNanos;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            lockedNanos = interleave(cart -> {
+                ShoppingCart shoppingCart = lockedCarts.get(cart);
+                return CompletableFuture.runAsync(() -> {
+                    synchronized (shoppingCart) {
+                        shoppingCart.addItem(aProductInStock(), Quantity.of(1));
+                    }
+                }, executor);
+            });
+        }
+
+        List<ShoppingCart> dispatchedCarts = startShopping();
+        long dispatchedNanos = interleave(cart -> {
+            ShoppingCart shoppingCart = dispatchedCarts.get(cart);
+            return dispatcher.dispatch(shoppingCart.getCustomerId(), () -> {
+                shoppingCart.addItem(aProductInStock(), Quantity.of(1));
+                return null;
+            });
+        });
+
+        long commands = (long) CARTS * COMMANDS_PER_CART;
+        System.out.printf("%d carts, %d commands: locked %.0f commands/s, mailbox %.0f commands/s%n",
+                CARTS, commands, commands * 1e9 / lockedNanos, commands * 1e9 / dispatchedNanos);
+
+        assertThat(lockedCarts).allSatisfy(cart -> assertThat(cart.getTotalItems()).isEqualTo(Quantity.of(COMMANDS_PER_CART)));
+        assertThat(dispatchedCarts).allSatisfy(cart -> assertThat(cart.getTotalItems()).isEqualTo(Quantity.of(COMMANDS_PER_CART)));
+    }
+
+    private static List<ShoppingCart> startShopping() {
+        return IntStream.range(0, CARTS)
+                .mapToObj(i -> ShoppingCart.startShopping(new CustomerId()))
+                .toList();
+    }
+
+    // One producer per command round, each walking every cart from its own offset, so a cart is hit from several threads
+    private static long interleave(IntFunction<CompletableFuture<?>> command) throws InterruptedException {
+        List<CompletableFuture<?>> results = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> producers = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int p = 0; p < COMMANDS_PER_CART; p++) {
+            int offset = p * (CARTS / COMMANDS_PER_CART);
+            producers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < CARTS; i++) {
+                    results.add(command.apply((offset + i) % CARTS));
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+        return System.nanoTime() - start;
+    }
+
+}
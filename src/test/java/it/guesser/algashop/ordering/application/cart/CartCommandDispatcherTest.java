@@ -0,0 +1,127 @@
+package it.guesser.algashop.ordering.application.cart;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import it.guesser.algashop.ordering.domain.valueobject.id.CustomerId;
+import it.guesser.algashop.ordering.infrastructure.auditing.AuditingContext;
+
+class CartCommandDispatcherTest {
+
+    private final CartCommandDispatcher dispatcher = new CartCommandDispatcher();
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.destroy();
+    }
+
+    @Test
+    void givenManyCommandsForOneCustomer_whenDispatched_thenTheyRunOneAtATimeInSubmissionOrder() {
+        CustomerId customerId = new CustomerId();
+        List<Integer> executed = new ArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> results = IntStream.range(0, 10_000)
+                .mapToObj(i -> dispatcher.dispatch(customerId, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    executed.add(i);
+                    running.decrementAndGet();
+                    return i;
+                }))
+                .toList();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+        assertThat(maxRunning).hasValue(1);
+        assertThat(executed).containsExactlyElementsOf(IntStream.range(0, 10_000).boxed().toList());
+    }
+
+    @Test
+    void givenBlockedCommandForOneCustomer_whenAnotherCustomerDispatches_thenItIsNotHeldBack() throws Exception {
+        CountDownLatch released = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> blocked = dispatcher.dispatch(new CustomerId(),
+                () -> released.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(new CustomerId(), () -> {
+            released.countDown();
+            return null;
+        }).get(5, TimeUnit.SECONDS);
+
+        assertThat(blocked.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void givenFailingCommand_whenDispatched_thenItsFutureFailsAndTheNextCommandStillRuns() throws Exception {
+        CustomerId customerId = new CustomerId();
+
+        CompletableFuture<Object> failed = dispatcher.dispatch(customerId, () -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<String> next = dispatcher.dispatch(customerId, () -> "ok");
+
+        assertThatThrownBy(failed::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(next.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+    }
+
+    @Test
+    void givenDrainedMailboxes_whenIdle_thenTheyAreRetired() throws InterruptedException {
+        List<CompletableFuture<Object>> results = IntStream.range(0, 1_000)
+                .mapToObj(i -> dispatcher.dispatch(new CustomerId(), () -> null))
+                .toList();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+        // the drain loop retires its mailbox right after completing the last future
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dispatcher.busyMailboxes() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+
+        assertThat(dispatcher.busyMailboxes()).isZero();
+    }
+
+    @Test
+    void givenBoundAuditor_whenCommandRunsOnTheDrainThread_thenItRunsAsThatAuditor() throws Exception {
+        CustomerId customerId = new CustomerId();
+        UUID firstUser = UUID.randomUUID();
+        UUID secondUser = UUID.randomUUID();
+
+        CompletableFuture<UUID> first = AuditingContext.callAs(firstUser,
+                () -> dispatcher.dispatch(customerId, AuditingContext::currentUserId));
+        CompletableFuture<UUID> second = AuditingContext.callAs(secondUser,
+                () -> dispatcher.dispatch(customerId, AuditingContext::currentUserId));
+        CompletableFuture<UUID> unbound = dispatcher.dispatch(customerId, AuditingContext::currentUserId);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(firstUser);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(secondUser);
+        assertThat(unbound.get(5, TimeUnit.SECONDS)).isEqualTo(AuditingContext.SYSTEM_USER_ID);
+    }
+
+    @Test
+    void givenDestroyedDispatcher_whenDispatching_thenTheFutureFailsAndNoMailboxIsLeftBehind() {
+        dispatcher.destroy();
+
+        CompletableFuture<String> rejected = dispatcher.dispatch(new CustomerId(), () -> "too late");
+
+        assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(dispatcher.busyMailboxes()).isZero();
+    }
+
+}
@@ -0,0 +1,130 @@
+package it.guesser.algashop.ordering.application.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import it.guesser.algashop.ordering.domain.entity.Order;
+import it.guesser.algashop.ordering.domain.entity.OrderStatus;
+import it.guesser.algashop.ordering.domain.entity.OrderTestDataBuilder;
+import it.guesser.algashop.ordering.domain.entity.PaymentMethod;
+import it.guesser.algashop.ordering.domain.exceptions.OrderNotFoundException;
+import it.guesser.algashop.ordering.domain.exceptions.OrderStatusCannotBeChangedException;
+import it.guesser.algashop.ordering.domain.repository.Orders;
+import it.guesser.algashop.ordering.domain.valueobject.id.OrderId;
+import it.guesser.algashop.ordering.infrastructure.persistence.assembler.OrderPersistenceEntityAssembler;
+import it.guesser.algashop.ordering.infrastructure.persistence.cache.OrderSnapshotCache;
+import it.guesser.algashop.ordering.infrastructure.persistence.config.SpringDataAuditingConfig;
+import it.guesser.algashop.ordering.infrastructure.persistence.disassembler.OrderPersistenceEntityDisassembler;
+import it.guesser.algashop.ordering.infrastructure.persistence.provider.OrdersPersistenceProvider;
+
+// Each attempt commits on its own, as in production, so no test transaction wraps them
+@DataJpaTest(properties = {
+        "ordering.orders.command-retry.max-attempts=3",
+        "ordering.orders.command-retry.initial-backoff-millis=1",
+        "ordering.orders.command-retry.max-backoff-millis=5"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrderCommandExecutor.class, OrderCommandMetrics.class, OrdersPersistenceProvider.class,
+        OrderPersistenceEntityAssembler.class, OrderPersistenceEntityDisassembler.class, OrderSnapshotCache.class,
+        SpringDataAuditingConfig.class})
+class OrderCommandExecutorIT {
+
+    private final OrderCommandExecutor executor;
+    private final OrderCommandMetrics metrics;
+    private final Orders orders;
+    private final TransactionTemplate concurrentTransaction;
+
+    @Autowired
+    OrderCommandExecutorIT(OrderCommandExecutor executor, OrderCommandMetrics metrics, Orders orders,
+            PlatformTransactionManager transactionManager) {
+        this.executor = executor;
+        this.metrics = metrics;
+        this.orders = orders;
+        this.concurrentTransaction = new TransactionTemplate(transactionManager);
+        this.concurrentTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Test
+    void givenConcurrentPayment_whenCanceling_thenTheCancellationIsRetriedOnTheFreshOrder() {
+        Order order = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.PLACED).build();
+        orders.save(order);
+        AtomicInteger calls = new AtomicInteger();
+
+        Order canceled = executor.execute("cancel-after-payment", order.getId(), o -> {
+            if (calls.getAndIncrement() == 0) {
+                concurrently(order.getId(), Order::markAsPaid);
+            }
+            o.markAsCanceled();
+        });
+
+        assertThat(calls).hasValue(2);
+        assertThat(canceled.getStatus()).isEqualTo(OrderStatus.CANCELED);
+        assertThat(canceled.getPaidAt()).isPositive();
+        assertThat(orders.ofId(order.getId()).orElseThrow().getStatus()).isEqualTo(OrderStatus.CANCELED);
+        assertThat(metrics.of("cancel-after-payment")).satisfies(m -> {
+            assertThat(m.attempts()).isEqualTo(2);
+            assertThat(m.conflicts()).isEqualTo(1);
+            assertThat(m.exhausted()).isZero();
+            assertThat(m.conflictRate()).isEqualTo(0.5);
+        });
+        assertThat(metrics.hottestOrders(10)).containsEntry(order.getId(), 1L);
+    }
+
+    @Test
+    void givenConflictOnEveryAttempt_whenExecuting_thenItGivesUpAfterMaxAttempts() {
+        Order order = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.DRAFT).build();
+        orders.save(order);
+
+        assertThatThrownBy(() -> executor.execute("always-conflicting", order.getId(), o -> {
+            concurrently(order.getId(), other -> other.changePaymentMethod(PaymentMethod.CREDIT_CARD));
+            o.changePaymentMethod(PaymentMethod.GATEWAY_BALANCE);
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(metrics.of("always-conflicting")).satisfies(m -> {
+            assertThat(m.attempts()).isEqualTo(3);
+            assertThat(m.conflicts()).isEqualTo(3);
+            assertThat(m.exhausted()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void givenDomainRuleViolation_whenExecuting_thenItIsNotRetried() {
+        Order order = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.DRAFT).build();
+        orders.save(order);
+
+        assertThatThrownBy(() -> executor.execute("ready-from-draft", order.getId(), Order::markAsReady))
+                .isInstanceOf(OrderStatusCannotBeChangedException.class);
+
+        assertThat(metrics.of("ready-from-draft").attempts()).isEqualTo(1);
+        assertThat(metrics.of("ready-from-draft").conflicts()).isZero();
+    }
+
+    @Test
+    void givenUnknownOrder_whenExecuting_thenThrowsOrderNotFoundException() {
+        assertThatThrownBy(() -> executor.execute("pay", new OrderId(), Order::markAsPaid))
+                .isInstanceOf(OrderNotFoundException.class);
+    }
+
+    private void concurrently(OrderId orderId, Consumer<Order> change) {
+        concurrentTransaction.executeWithoutResult(status -> {
+            Order other = orders.ofId(orderId).orElseThrow();
+            change.accept(other);
+            orders.save(other);
+        });
+    }
+
+}
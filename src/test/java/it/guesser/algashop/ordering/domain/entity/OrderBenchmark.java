@@ -0,0 +1,68 @@
+package it.guesser.algashop.ordering.domain.entity;
+
+import static it.guesser.algashop.ordering.domain.entity.OrderTestDataBuilder.anOrder;
+import static it.guesser.algashop.ordering.domain.valueobject.ProductDataTestBuilder.aProductOutOfStock;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import it.guesser.algashop.ordering.domain.exceptions.ProductOutOfStockException;
+import it.guesser.algashop.ordering.domain.valueobject.Product;
+import it.guesser.algashop.ordering.domain.valueobject.Quantity;
+
+/*
+ * Rejection path timing: tryAddItem versus addItem with the exception caught.
+ * Runs with the benchmarks profile only (mvn test -Pbenchmarks), numbers are printed for comparison between runs.
+ */
+class OrderBenchmark {
+
+    private static final int WARMUP_ATTEMPTS = 200_000;
+    private static final int ATTEMPTS = 2_000_000;
+
+    @Test
+    void outOfStockRejection() {
+        Order order = anOrder().withStatus(OrderStatus.DRAFT).withItems(false).build();
+        Product outOfStock = aProductOutOfStock();
+        Quantity quantity = new Quantity(1);
+
+        tryAddItem(order, outOfStock, quantity, WARMUP_ATTEMPTS);
+        addItemAndCatch(order, outOfStock, quantity, WARMUP_ATTEMPTS);
+
+        long start = System.nanoTime();
+        int returned = tryAddItem(order, outOfStock, quantity, ATTEMPTS);
+        long tryNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int thrown = addItemAndCatch(order, outOfStock, quantity, ATTEMPTS);
+        long throwNanos = System.nanoTime() - start;
+
+        System.out.printf("out of stock rejection ns/op: tryAddItem=%.1f addItem+catch=%.1f%n",
+                (double) tryNanos / ATTEMPTS, (double) throwNanos / ATTEMPTS);
+
+        assertThat(returned).isEqualTo(ATTEMPTS);
+        assertThat(thrown).isEqualTo(ATTEMPTS);
+    }
+
+    private static int tryAddItem(Order order, Product product, Quantity quantity, int attempts) {
+        int rejected = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (order.tryAddItem(product, quantity).isRejected()) {
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    private static int addItemAndCatch(Order order, Product product, Quantity quantity, int attempts) {
+        int thrown = 0;
+        for (int i = 0; i < attempts; i++) {
+            try {
+                order.addItem(product, quantity);
+            } catch (ProductOutOfStockException e) {
+                thrown++;
+            }
+        }
+        return thrown;
+    }
+
+}
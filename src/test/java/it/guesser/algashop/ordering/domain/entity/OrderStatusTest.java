@@ -74,5 +74,18 @@ public class OrderStatusTest {
         assertThat(OrderStatus.CANCELED.canChangeTo(OrderStatus.PAID)).isFalse();
         assertThat(OrderStatus.CANCELED.canChangeTo(OrderStatus.READY)).isFalse();
     }
-}
 
+    @Test
+    void givenStatus_whenCheckAllowedSources_thenMatchesTheTransitionsLeadingToIt() {
+        assertThat(OrderStatus.PAID.allowedSources()).containsExactly(OrderStatus.PLACED);
+        assertThat(OrderStatus.READY.allowedSources()).containsExactly(OrderStatus.PAID);
+        assertThat(OrderStatus.CANCELED.allowedSources())
+                .containsExactlyInAnyOrder(OrderStatus.DRAFT, OrderStatus.PLACED, OrderStatus.PAID, OrderStatus.READY);
+        assertThat(OrderStatus.DRAFT.allowedSources()).isEmpty();
+    }
+
+    @Test
+    void givenStatus_whenCheckAllowedTransitionsTwice_thenTheSameSetIsReturned() {
+        assertThat(OrderStatus.PLACED.allowedTransitions()).isSameAs(OrderStatus.PLACED.allowedTransitions());
+    }
+}
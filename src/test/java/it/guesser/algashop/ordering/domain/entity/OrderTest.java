@@ -3,16 +3,25 @@ package it.guesser.algashop.ordering.domain.entity;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import it.guesser.algashop.ordering.domain.exceptions.DomainException;
 import it.guesser.algashop.ordering.domain.exceptions.OrderCannotBePlacedException;
 import it.guesser.algashop.ordering.domain.exceptions.OrderCannotBeEditedException;
 import it.guesser.algashop.ordering.domain.exceptions.OrderInvalidShippingDeliveryDateException;
 import it.guesser.algashop.ordering.domain.exceptions.OrderStatusCannotBeChangedException;
 import it.guesser.algashop.ordering.domain.exceptions.ProductOutOfStockException;
+import it.guesser.algashop.ordering.domain.utils.DomainClock;
+import it.guesser.algashop.ordering.domain.utils.ManualClock;
+import it.guesser.algashop.ordering.domain.validator.ValidationResult;
 import it.guesser.algashop.ordering.domain.valueobject.Billing;
 import it.guesser.algashop.ordering.domain.valueobject.Money;
 import it.guesser.algashop.ordering.domain.valueobject.Product;
@@ -371,6 +380,24 @@ public class OrderTest {
         assertThat(order.getTotalAmount()).isEqualTo(expectedTotalAmount);
     }
 
+    @Test
+    void givenReloadedOrderWhoseTotalIncludesAnUnloadedShippingCost_whenChangeShipping_thenShippingIsCountedOnce() {
+        Order placedBefore = anOrder().withStatus(OrderStatus.DRAFT)
+                .withShipping(aShipping().withCost(new Money("10.00")).build())
+                .build();
+        Money itemsTotalAmount = placedBefore.getTotalAmount().subtract(new Money("10.00"));
+        // as loaded from a row written before shipping was persisted: the total has the cost, shipping is null
+        Order reloaded = Order.ofExistent(placedBefore.getId(), placedBefore.getCustomerId(),
+                placedBefore.getTotalAmount(), placedBefore.getTotalItems(), 0, 0, 0, 0, placedBefore.getBilling(),
+                null, OrderStatus.DRAFT, placedBefore.getPaymentMethod(), new HashSet<>(placedBefore.getItems()), 1);
+
+        Money newShippingCost = new Money("15.00");
+        reloaded.changeShipping(aShipping().withCost(newShippingCost).build());
+
+        assertThat(reloaded.getTotalAmount()).isEqualTo(itemsTotalAmount.add(newShippingCost));
+        assertThat(reloaded.getTotalItems()).isEqualTo(placedBefore.getTotalItems());
+    }
+
     @Test
     void givenExpectedDeliveryDateInPast_whenChangeShipping_thenThrowsOrderInvalidShippingDeliveryDateException() {
         CustomerId customerId = new CustomerId();
@@ -565,4 +592,177 @@ public class OrderTest {
                 .isInstanceOf(OrderCannotBeEditedException.class)
                 .hasMessageContaining("cannot be edited");
     }
+
+    @Test
+    void givenPlacedOrder_whenMarkAsPaid_thenOnlyStatusAndPaidAtAreChanged() {
+        Order order = anOrder().withStatus(OrderStatus.PLACED).build();
+        order.clearChangedFields();
+
+        order.markAsPaid();
+
+        assertThat(order.getChangedFields()).containsExactlyInAnyOrder(OrderField.STATUS, OrderField.PAID_AT);
+    }
+
+    @Test
+    void givenDraftOrder_whenAddItem_thenItemsAndTotalsAreChanged() {
+        Order order = anOrder().withStatus(OrderStatus.DRAFT).build();
+        order.clearChangedFields();
+
+        order.addItem(aProductInStock(), new Quantity(1));
+
+        assertThat(order.getChangedFields()).containsExactlyInAnyOrder(OrderField.ITEMS, OrderField.TOTALS);
+    }
+
+    @Test
+    void givenChangedOrder_whenClearChangedFields_thenHasNoChanges() {
+        Order order = anOrder().withStatus(OrderStatus.DRAFT).build();
+        order.changePaymentMethod(PaymentMethod.GATEWAY_BALANCE);
+        assertThat(order.hasChanges()).isTrue();
+
+        order.clearChangedFields();
+
+        assertThat(order.hasChanges()).isFalse();
+        assertThat(order.getChangedFields()).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1_000})
+    void givenManyLines_whenEditingOrder_thenTotalsMatchTheLines(int lines) {
+        Order order = Order.draft(new CustomerId());
+        order.changeShipping(aShipping().build());
+
+        for (int i = 0; i < lines; i++) {
+            order.addItem(new Product(new ProductId(), new ProductName("Product " + i), new Money("1.25"), true),
+                    new Quantity(2));
+        }
+        OrderItem changedItem = order.getItems().iterator().next();
+        order.changeItemQuantity(changedItem.getId(), new Quantity(5));
+        order.removeItem(order.getItems().stream()
+                .filter(item -> !item.getId().equals(changedItem.getId()))
+                .findFirst()
+                .orElseThrow()
+                .getId());
+
+        Money expectedAmount = order.getShipping().cost();
+        Quantity expectedItems = Quantity.ZERO;
+        for (OrderItem item : order.getItems()) {
+            expectedAmount = expectedAmount.add(item.getTotalAmount());
+            expectedItems = expectedItems.add(item.getQuantity());
+        }
+
+        assertThat(order.getTotalAmount()).isEqualTo(expectedAmount);
+        assertThat(order.getTotalItems()).isEqualTo(expectedItems);
+        assertThat(order.getTotalItems()).isEqualTo(new Quantity((lines - 2) * 2 + 5));
+    }
+
+    @Test
+    void givenDraftOrder_whenAddItem_thenItemsViewReflectsItWithoutCopying() {
+        Order order = Order.draft(new CustomerId());
+        Set<OrderItem> items = order.getItems();
+
+        order.addItem(aProductInStock(), new Quantity(1));
+
+        assertThat(items).hasSize(1);
+        assertThat(order.getItems()).isSameAs(items);
+    }
+
+    @Test
+    void givenProductOutOfStock_whenTryAddItem_thenRejectionIsReturnedAndOrderIsUnchanged() {
+        Order order = anOrder().withStatus(OrderStatus.DRAFT).withItems(false).build();
+
+        ValidationResult result = order.tryAddItem(aProductOutOfStock(), new Quantity(1));
+
+        assertThat(result.isRejected()).isTrue();
+        assertThat(result.getRejection()).containsInstanceOf(ProductOutOfStockException.class);
+        assertThat(order.getItems()).isEmpty();
+        assertThat(order.getTotalItems()).isEqualTo(Quantity.ZERO);
+        assertThatThrownBy(result::orElseThrow).isInstanceOf(ProductOutOfStockException.class);
+    }
+
+    @Test
+    void givenPlacedOrder_whenTryAddItem_thenRejectionIsReturned() {
+        Order order = anOrder().withStatus(OrderStatus.PLACED).build();
+
+        ValidationResult result = order.tryAddItem(aProductInStock(), new Quantity(1));
+
+        assertThat(result.getRejection().orElseThrow())
+                .isInstanceOf(OrderCannotBeEditedException.class)
+                .hasMessageContaining("cannot be edited");
+    }
+
+    @Test
+    void givenDraftOrder_whenTryAddItem_thenItemIsAdded() {
+        Order order = Order.draft(new CustomerId());
+
+        ValidationResult result = order.tryAddItem(aProductInStock(), new Quantity(2));
+
+        assertThat(result.isAccepted()).isTrue();
+        assertThat(result.getRejection()).isEmpty();
+        assertThat(order.getTotalItems()).isEqualTo(new Quantity(2));
+    }
+
+    @Test
+    void givenDraftOrder_whenTryPlace_thenOrderIsPlacedAndPlacingAgainIsRejected() {
+        Order order = anOrder().withStatus(OrderStatus.DRAFT).build();
+
+        assertThat(order.tryPlace().isAccepted()).isTrue();
+        assertThat(order.isPlaced()).isTrue();
+
+        ValidationResult again = order.tryPlace();
+        assertThat(again.getRejection().orElseThrow())
+                .isInstanceOf(OrderStatusCannotBeChangedException.class)
+                .hasMessageContaining("from PLACED to PLACED");
+    }
+
+    @Test
+    void givenDraftOrderWithoutItems_whenTryPlace_thenRejectionIsReturnedAndStatusIsUnchanged() {
+        Order order = anOrder().withStatus(OrderStatus.DRAFT).withItems(false).build();
+
+        ValidationResult result = order.tryPlace();
+
+        assertThat(result.getRejection()).containsInstanceOf(OrderCannotBePlacedException.class);
+        assertThat(order.isDraft()).isTrue();
+        assertThat(order.getPlacedAt()).isZero();
+    }
+
+    @Test
+    void givenRejection_whenInspected_thenItHasNoStackTraceAndTheFormattedMessage() {
+        Order order = anOrder().withStatus(OrderStatus.PAID).build();
+
+        DomainException rejection = order.tryAddItem(aProductInStock(), new Quantity(1)).getRejection().orElseThrow();
+
+        assertThat(rejection.getStackTrace()).isEmpty();
+        assertThat(rejection.getMessage())
+                .isEqualTo("Order %s with status PAID cannot be edited".formatted(order.getId()))
+                .isSameAs(rejection.getMessage());
+    }
+
+    @Test
+    void givenManualDomainClock_whenOrderMovesThroughItsLifecycle_thenTimestampsAreDeterministic() {
+        Instant start = Instant.parse("2025-01-15T10:00:00Z");
+        ManualClock clock = new ManualClock(start);
+        Order order = anOrder().withStatus(OrderStatus.DRAFT).build();
+
+        DomainClock.runWith(clock, () -> {
+            order.place();
+            clock.advance(Duration.ofMinutes(5));
+            order.markAsPaid();
+            clock.advance(Duration.ofHours(2));
+            order.markAsReady();
+        });
+
+        assertThat(order.getPlacedAt()).isEqualTo(start.toEpochMilli());
+        assertThat(order.getPaidAt()).isEqualTo(start.plus(Duration.ofMinutes(5)).toEpochMilli());
+        assertThat(order.getReadyAt()).isEqualTo(start.plus(Duration.ofMinutes(125)).toEpochMilli());
+    }
+
+    @Test
+    void givenManualDomainClock_whenChangeShippingBeforeItsToday_thenThrowsOrderInvalidShippingDeliveryDateException() {
+        Order order = Order.draft(new CustomerId());
+        Shipping shipping = aShipping().withExpectedDate(LocalDate.of(2025, 5, 31)).build();
+
+        assertThatThrownBy(() -> DomainClock.runWith(new ManualClock(Instant.parse("2025-06-01T00:00:00Z")),
+                () -> order.changeShipping(shipping)))
+                .isInstanceOf(OrderInvalidShippingDeliveryDateException.class);
+    }
 }
@@ -0,0 +1,121 @@
+package it.guesser.algashop.ordering.domain.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import it.guesser.algashop.ordering.domain.valueobject.Money;
+import it.guesser.algashop.ordering.domain.valueobject.Product;
+import it.guesser.algashop.ordering.domain.valueobject.ProductName;
+import it.guesser.algashop.ordering.domain.valueobject.Quantity;
+import it.guesser.algashop.ordering.domain.valueobject.id.CustomerId;
+import it.guesser.algashop.ordering.domain.valueobject.id.ProductId;
+
+/*
+ * Cost of one quantity change on orders and carts with 10, 100 and 1,000 lines: the incremental totals
+ * against summing every line over a copy of the item set, as every mutation did before.
+ * Runs with the benchmarks profile only (mvn test -Pbenchmarks), numbers are printed for comparison between runs.
+ */
+class OrderTotalsBenchmark {
+
+    // Scaled by the line count, so the full sum baseline stays within seconds at 1,000 lines
+    private static final int LINE_CHANGES = 5_000_000;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1_000})
+    void orderQuantityChange(int lines) {
+        Order order = Order.draft(new CustomerId());
+        for (int i = 0; i < lines; i++) {
+            order.addItem(product(i), new Quantity(2));
+        }
+        List<OrderItem> items = List.copyOf(order.getItems());
+
+        int changes = LINE_CHANGES / lines;
+
+        changeOrder(order, items, changes / 10);
+        recomputeOrder(order, changes / 10);
+
+        long start = System.nanoTime();
+        changeOrder(order, items, changes);
+        long incrementalNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        Money recomputed = recomputeOrder(order, changes);
+        long recomputeNanos = System.nanoTime() - start;
+
+        System.out.printf("Order with %d lines, ns/change: incremental=%.1f full sum=%.1f%n", lines,
+                (double) incrementalNanos / changes, (double) recomputeNanos / changes);
+        assertThat(order.getTotalAmount()).isEqualTo(recomputed);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1_000})
+    void shoppingCartQuantityChange(int lines) {
+        ShoppingCart cart = ShoppingCart.startShopping(new CustomerId());
+        for (int i = 0; i < lines; i++) {
+            cart.addItem(product(i), new Quantity(2));
+        }
+        List<ShoppingCartItem> items = List.copyOf(cart.getItems());
+
+        int changes = LINE_CHANGES / lines;
+
+        changeCart(cart, items, changes / 10);
+        recomputeCart(cart, changes / 10);
+
+        long start = System.nanoTime();
+        changeCart(cart, items, changes);
+        long incrementalNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        Money recomputed = recomputeCart(cart, changes);
+        long recomputeNanos = System.nanoTime() - start;
+
+        System.out.printf("ShoppingCart with %d lines, ns/change: incremental=%.1f full sum=%.1f%n", lines,
+                (double) incrementalNanos / changes, (double) recomputeNanos / changes);
+        assertThat(cart.getTotalAmount()).isEqualTo(recomputed);
+    }
+
+    private static Product product(int i) {
+        return new Product(new ProductId(), new ProductName("Product " + i), new Money("1.25"), true);
+    }
+
+    private static void changeOrder(Order order, List<OrderItem> items, int changes) {
+        for (int i = 0; i < changes; i++) {
+            order.changeItemQuantity(items.get(i % items.size()).getId(), new Quantity(2 + (i & 1)));
+        }
+    }
+
+    private static void changeCart(ShoppingCart cart, List<ShoppingCartItem> items, int changes) {
+        for (int i = 0; i < changes; i++) {
+            cart.changeItemQuantity(items.get(i % items.size()).getId(), new Quantity(2 + (i & 1)));
+        }
+    }
+
+    // The previous totals update: a copy of the item set summed line by line
+    private static Money recomputeOrder(Order order, int changes) {
+        Money amount = Money.ZERO;
+        for (int i = 0; i < changes; i++) {
+            amount = order.getShipping() == null ? Money.ZERO : order.getShipping().cost();
+            for (OrderItem item : new HashSet<>(order.getItems())) {
+                amount = amount.add(item.getTotalAmount());
+            }
+        }
+        return amount;
+    }
+
+    private static Money recomputeCart(ShoppingCart cart, int changes) {
+        Money amount = Money.ZERO;
+        for (int i = 0; i < changes; i++) {
+            amount = Money.ZERO;
+            for (ShoppingCartItem item : new HashSet<>(cart.getItems())) {
+                amount = amount.add(item.getTotalAmount());
+            }
+        }
+        return amount;
+    }
+
+}
@@ -8,9 +8,12 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import it.guesser.algashop.ordering.domain.exceptions.ProductOutOfStockException;
 import it.guesser.algashop.ordering.domain.exceptions.ShoppingCartItemNotFoundException;
+import it.guesser.algashop.ordering.domain.validator.ValidationResult;
 import it.guesser.algashop.ordering.domain.valueobject.Money;
 import it.guesser.algashop.ordering.domain.valueobject.Product;
 import it.guesser.algashop.ordering.domain.valueobject.ProductName;
@@ -67,6 +70,28 @@ class ShoppingCartTest {
                 .isInstanceOf(ProductOutOfStockException.class);
     }
 
+    @Test
+    void givenProductOutOfStock_whenTryAddItem_thenRejectionIsReturnedAndCartIsUnchanged() {
+        ShoppingCart shoppingCart = ShoppingCart.startShopping(new CustomerId());
+
+        ValidationResult result = shoppingCart.tryAddItem(aProductOutOfStock(), new Quantity(1));
+
+        assertThat(result.isRejected()).isTrue();
+        assertThat(result.getRejection()).containsInstanceOf(ProductOutOfStockException.class);
+        assertThat(shoppingCart.isEmpty()).isTrue();
+        assertThat(shoppingCart.getTotalItems()).isEqualTo(Quantity.ZERO);
+    }
+
+    @Test
+    void givenProductInStock_whenTryAddItem_thenItemIsAdded() {
+        ShoppingCart shoppingCart = ShoppingCart.startShopping(new CustomerId());
+
+        ValidationResult result = shoppingCart.tryAddItem(aProductInStock(), new Quantity(3));
+
+        assertThat(result.isAccepted()).isTrue();
+        assertThat(shoppingCart.getTotalItems()).isEqualTo(new Quantity(3));
+    }
+
     @Test
     void givenValidProductAndQuantity_whenAddItem_thenShoppingCartAndItemAreUpdatedCorrectly() {
         CustomerId customerId = new CustomerId();
@@ -279,5 +304,75 @@ class ShoppingCartTest {
         assertThat(shoppingCart.isEmpty()).isFalse();
     }
 
-}
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1_000})
+    void givenManyItems_whenEditingCart_thenTotalsMatchTheItems(int lines) {
+        ShoppingCart shoppingCart = ShoppingCart.startShopping(new CustomerId());
+
+        for (int i = 0; i < lines; i++) {
+            shoppingCart.addItem(new Product(new ProductId(), new ProductName("Product " + i), new Money("1.25"), true),
+                    new Quantity(2));
+        }
+        ShoppingCartItem changedItem = shoppingCart.getItems().iterator().next();
+        shoppingCart.changeItemQuantity(changedItem.getId(), new Quantity(5));
+        shoppingCart.refreshItem(new Product(changedItem.getProduct().id(), changedItem.getProduct().name(),
+                new Money("2.00"), true));
+        shoppingCart.addItem(changedItem.getProduct(), new Quantity(1));
+
+        Money expectedAmount = Money.ZERO;
+        Quantity expectedItems = Quantity.ZERO;
+        for (ShoppingCartItem item : shoppingCart.getItems()) {
+            expectedAmount = expectedAmount.add(item.getTotalAmount());
+            expectedItems = expectedItems.add(item.getQuantity());
+        }
+
+        assertThat(shoppingCart.getTotalAmount()).isEqualTo(expectedAmount);
+        assertThat(shoppingCart.getTotalItems()).isEqualTo(expectedItems);
+        assertThat(shoppingCart.getTotalItems()).isEqualTo(new Quantity((lines - 1) * 2 + 6));
 
+        shoppingCart.clear();
+
+        assertThat(shoppingCart.getTotalAmount()).isEqualTo(Money.ZERO);
+        assertThat(shoppingCart.getTotalItems()).isEqualTo(Quantity.ZERO);
+    }
+
+    @Test
+    void givenShoppingCart_whenAddItem_thenItemsViewReflectsItWithoutCopying() {
+        ShoppingCart shoppingCart = ShoppingCart.startShopping(new CustomerId());
+        Set<ShoppingCartItem> items = shoppingCart.getItems();
+
+        shoppingCart.addItem(aProductInStock(), new Quantity(1));
+
+        assertThat(items).hasSize(1);
+        assertThat(shoppingCart.getItems()).isSameAs(items);
+    }
+
+    @Test
+    void givenItemInCart_whenAddingSameProductWithNewPrice_thenLineIsMergedAndPriceRefreshed() {
+        ShoppingCart shoppingCart = ShoppingCart.startShopping(new CustomerId());
+        ProductId productId = new ProductId();
+        shoppingCart.addItem(new Product(productId, new ProductName("Product"), new Money("10.00"), true),
+                new Quantity(1));
+
+        shoppingCart.addItem(new Product(productId, new ProductName("Product"), new Money("12.00"), true),
+                new Quantity(2));
+
+        assertThat(shoppingCart.getItems()).singleElement().satisfies(item -> {
+            assertThat(item.getQuantity()).isEqualTo(new Quantity(3));
+            assertThat(item.getProduct().price()).isEqualTo(new Money("12.00"));
+        });
+        assertThat(shoppingCart.getTotalAmount()).isEqualTo(new Money("36.00"));
+    }
+
+    @Test
+    void givenItemInCart_whenRefreshItemWithNewPrice_thenTotalsUseTheNewPrice() {
+        ShoppingCart shoppingCart = ShoppingCart.startShopping(new CustomerId());
+        ProductId productId = new ProductId();
+        shoppingCart.addItem(new Product(productId, new ProductName("Product"), new Money("10.00"), true),
+                new Quantity(2));
+
+        shoppingCart.refreshItem(new Product(productId, new ProductName("Product"), new Money("7.50"), true));
+
+        assertThat(shoppingCart.getTotalAmount()).isEqualTo(new Money("15.00"));
+    }
+}
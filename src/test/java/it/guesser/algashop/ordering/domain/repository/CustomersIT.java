@@ -0,0 +1,155 @@
+package it.guesser.algashop.ordering.domain.repository;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import it.guesser.algashop.ordering.domain.entity.Customer;
+import it.guesser.algashop.ordering.domain.valueobject.Address;
+import it.guesser.algashop.ordering.domain.valueobject.BirthDate;
+import it.guesser.algashop.ordering.domain.valueobject.Document;
+import it.guesser.algashop.ordering.domain.valueobject.Email;
+import it.guesser.algashop.ordering.domain.valueobject.FullName;
+import it.guesser.algashop.ordering.domain.valueobject.LoyaltyPoints;
+import it.guesser.algashop.ordering.domain.valueobject.Phone;
+import it.guesser.algashop.ordering.domain.valueobject.ZipCode;
+import it.guesser.algashop.ordering.domain.valueobject.id.CustomerId;
+import it.guesser.algashop.ordering.infrastructure.persistence.assembler.CustomerPersistenceEntityAssembler;
+import it.guesser.algashop.ordering.infrastructure.persistence.disassembler.CustomerPersistenceEntityDisassembler;
+import it.guesser.algashop.ordering.infrastructure.persistence.provider.CustomersPersistenceProvider;
+
+@DataJpaTest
+@Import({CustomersPersistenceProvider.class, CustomerPersistenceEntityAssembler.class,
+        CustomerPersistenceEntityDisassembler.class})
+public class CustomersIT {
+
+    private final Customers customers;
+
+    @Autowired
+    public CustomersIT(Customers customers) {
+        this.customers = requireNonNull(customers);
+    }
+
+    @Test
+    void shouldPersistAndFind() {
+        Customer customer = aCustomer("john.doe@example.com", "123.456.789-00");
+
+        customers.save(customer);
+        Customer reloaded = customers.ofId(customer.getId()).orElseThrow();
+
+        assertThat(customer.getVersion()).isEqualTo(1L);
+        assertThat(reloaded).satisfies(
+                c -> assertThat(c.getId()).isEqualTo(customer.getId()),
+                c -> assertThat(c.getFullName()).isEqualTo(customer.getFullName()),
+                c -> assertThat(c.getEmail()).isEqualTo(customer.getEmail()),
+                c -> assertThat(c.getDocument()).isEqualTo(customer.getDocument()),
+                c -> assertThat(c.getAddress()).isEqualTo(customer.getAddress()),
+                c -> assertThat(c.getVersion()).isEqualTo(1L));
+    }
+
+    @Test
+    void shouldUpdateExistingCustomer() {
+        Customer customer = aCustomer("john.doe@example.com", "123.456.789-00");
+        customers.save(customer);
+
+        customer = customers.ofId(customer.getId()).orElseThrow();
+        customer.addLoyaltyPoints(new LoyaltyPoints(10));
+        customers.save(customer);
+
+        customer = customers.ofId(customer.getId()).orElseThrow();
+
+        assertThat(customer.getLoyaltyPoints().points()).isEqualTo(10);
+        assertThat(customer.getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldNotAllowStaleUpdates() {
+        Customer customer = aCustomer("john.doe@example.com", "123.456.789-00");
+        customers.save(customer);
+
+        Customer customerT1 = customers.ofId(customer.getId()).orElseThrow();
+        Customer customerT2 = customers.ofId(customer.getId()).orElseThrow();
+
+        customerT1.enablePromotionNotifications();
+        customers.save(customerT1);
+
+        customerT2.changePhone(new Phone("555-0000"));
+
+        assertThatThrownBy(() -> customers.save(customerT2))
+                .isExactlyInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void shouldFindByEmailIgnoringCase() {
+        Customer customer = aCustomer("John.Doe@Example.com", "123.456.789-00");
+        customers.save(customer);
+
+        assertThat(customers.ofEmail(new Email("john.doe@example.com")))
+                .hasValueSatisfying(c -> assertThat(c.getId()).isEqualTo(customer.getId()));
+        assertThat(customers.isEmailInUse(new Email("JOHN.DOE@EXAMPLE.COM"))).isTrue();
+        assertThat(customers.ofEmail(new Email("someone.else@example.com"))).isEmpty();
+        assertThat(customers.isEmailInUse(new Email("someone.else@example.com"))).isFalse();
+    }
+
+    @Test
+    void shouldFindByDocumentIgnoringFormatting() {
+        Customer customer = aCustomer("john.doe@example.com", "123.456.789-00");
+        customers.save(customer);
+
+        assertThat(customers.ofDocument(new Document("12345678900")))
+                .hasValueSatisfying(c -> assertThat(c.getId()).isEqualTo(customer.getId()));
+        assertThat(customers.ofDocument(new Document("999.999.999-99"))).isEmpty();
+    }
+
+    @Test
+    void shouldRejectDuplicatedEmail() {
+        customers.save(aCustomer("john.doe@example.com", "123.456.789-00"));
+
+        assertThatThrownBy(() -> customers.save(aCustomer("JOHN.DOE@example.com", "999.999.999-99")))
+                .hasRootCauseInstanceOf(SQLIntegrityConstraintViolationException.class);
+    }
+
+    @Test
+    void shouldRejectDuplicatedDocument() {
+        customers.save(aCustomer("john.doe@example.com", "123.456.789-00"));
+
+        assertThatThrownBy(() -> customers.save(aCustomer("jane.doe@example.com", "12345678900")))
+                .hasRootCauseInstanceOf(SQLIntegrityConstraintViolationException.class);
+    }
+
+    @Test
+    void shouldAllowManyArchivedCustomers() {
+        Customer first = aCustomer("john.doe@example.com", "123.456.789-00");
+        Customer second = aCustomer("jane.doe@example.com", "999.999.999-99");
+        first.archive();
+        second.archive();
+
+        customers.saveAll(List.of(first, second));
+
+        assertThat(customers.existing(List.of(first.getId(), second.getId(), new CustomerId())))
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(customers.ofDocument(first.getDocument())).isEmpty();
+    }
+
+    private Customer aCustomer(String email, String document) {
+        return Customer.brandNew(
+                new FullName("John Pauli Doe"),
+                new BirthDate(LocalDate.of(1990, 1, 1)),
+                new Email(email),
+                new Phone("555-" + UUID.randomUUID().toString().substring(0, 4)),
+                new Document(document),
+                new Address("street", "complement", "neighborhood", "city", "state", new ZipCode("12345")));
+    }
+
+}
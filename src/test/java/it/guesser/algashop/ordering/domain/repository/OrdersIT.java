@@ -4,7 +4,12 @@ import static java.util.Objects.requireNonNull;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -13,17 +18,25 @@ import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.context.annotation.Import;
 
 import it.guesser.algashop.ordering.domain.entity.Order;
+import it.guesser.algashop.ordering.domain.entity.OrderItem;
 import it.guesser.algashop.ordering.domain.entity.OrderStatus;
 import it.guesser.algashop.ordering.domain.entity.OrderTestDataBuilder;
+import it.guesser.algashop.ordering.domain.valueobject.Money;
+import it.guesser.algashop.ordering.domain.valueobject.Product;
+import it.guesser.algashop.ordering.domain.valueobject.ProductName;
+import it.guesser.algashop.ordering.domain.valueobject.Quantity;
+import it.guesser.algashop.ordering.domain.valueobject.id.CustomerId;
 import it.guesser.algashop.ordering.domain.valueobject.id.OrderId;
+import it.guesser.algashop.ordering.domain.valueobject.id.ProductId;
 import it.guesser.algashop.ordering.infrastructure.persistence.assembler.OrderPersistenceEntityAssembler;
+import it.guesser.algashop.ordering.infrastructure.persistence.cache.OrderSnapshotCache;
 import it.guesser.algashop.ordering.infrastructure.persistence.disassembler.OrderPersistenceEntityDisassembler;
 import it.guesser.algashop.ordering.infrastructure.persistence.provider.OrdersPersistenceProvider;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 @DataJpaTest
 @Import({OrdersPersistenceProvider.class, OrderPersistenceEntityAssembler.class,
-        OrderPersistenceEntityDisassembler.class})
+        OrderPersistenceEntityDisassembler.class, OrderSnapshotCache.class})
 public class OrdersIT {
 
     private final Orders orders;
@@ -86,4 +99,140 @@ public class OrdersIT {
         Assertions.assertThat(savedOrder.getPaidAt()).isGreaterThan(0);
     }
 
+    @Test
+    void shouldAnswerExistsWithoutLoadingTheOrder() {
+        Order order = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.DRAFT).build();
+        orders.save(order);
+
+        assertThat(orders.exists(order.getId())).isTrue();
+        assertThat(orders.exists(new OrderId())).isFalse();
+    }
+
+    @Test
+    void shouldReturnOnlyExistingIds() {
+        Order first = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.DRAFT).build();
+        Order second = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.PLACED).build();
+        orders.save(first);
+        orders.save(second);
+
+        OrderId unknownId = new OrderId();
+
+        assertThat(orders.existing(List.of(first.getId(), unknownId, second.getId())))
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+    }
+
+    @Test
+    void shouldPersistAndReloadOrderItems() {
+        Order order = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.DRAFT).build();
+        orders.save(order);
+
+        Order reloaded = orders.ofId(order.getId()).orElseThrow();
+
+        assertThat(reloaded.getItems()).hasSameSizeAs(order.getItems());
+        assertThat(reloaded.getItems()).containsExactlyInAnyOrderElementsOf(order.getItems());
+    }
+
+    @Test
+    void shouldKeepItemsInSyncWhenUpdatingDraftOrder() {
+        Order order = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.DRAFT).build();
+        orders.save(order);
+
+        order = orders.ofId(order.getId()).orElseThrow();
+        OrderItem removedItem = order.getItems().iterator().next();
+        order.removeItem(removedItem.getId());
+        order.addItem(new Product(new ProductId(), new ProductName("Product 3"), new Money("30.00"), true),
+                new Quantity(3));
+        orders.save(order);
+
+        Order reloaded = orders.ofId(order.getId()).orElseThrow();
+
+        assertThat(reloaded.getItems()).containsExactlyInAnyOrderElementsOf(order.getItems());
+        assertThat(reloaded.getItems()).doesNotContain(removedItem);
+    }
+
+    @Test
+    void shouldPageCustomerOrdersWithKeysetCursor() {
+        CustomerId customerId = new CustomerId();
+        List<Order> customerOrders = IntStream.range(0, 5)
+                .mapToObj(i -> OrderTestDataBuilder.anOrder().withCustomerId(customerId).withStatus(OrderStatus.DRAFT).build())
+                .toList();
+        customerOrders.forEach(orders::save);
+        orders.save(OrderTestDataBuilder.anOrder().withStatus(OrderStatus.DRAFT).build());
+
+        List<Order> firstPage = orders.ofCustomer(customerId, null, 2);
+        List<Order> secondPage = orders.ofCustomer(customerId, firstPage.getLast().getId(), 2);
+        List<Order> lastPage = orders.ofCustomer(customerId, secondPage.getLast().getId(), 2);
+
+        assertThat(firstPage).hasSize(2);
+        assertThat(secondPage).hasSize(2);
+        assertThat(lastPage).hasSize(1);
+
+        List<OrderId> pagedIds = Stream.of(firstPage, secondPage, lastPage)
+                .flatMap(List::stream)
+                .map(Order::getId)
+                .toList();
+        assertThat(pagedIds)
+                .containsExactlyInAnyOrderElementsOf(customerOrders.stream().map(Order::getId).toList())
+                .isSortedAccordingTo(Comparator.comparing(id -> id.value().toLong()));
+    }
+
+    @Test
+    void shouldStreamAllCustomerOrdersWithTheirItems() {
+        CustomerId customerId = new CustomerId();
+        List<Order> customerOrders = IntStream.range(0, 3)
+                .mapToObj(i -> OrderTestDataBuilder.anOrder().withCustomerId(customerId).withStatus(OrderStatus.DRAFT).build())
+                .toList();
+        customerOrders.forEach(orders::save);
+
+        try (Stream<Order> stream = orders.streamOfCustomer(customerId)) {
+            assertThat(stream.toList())
+                    .containsExactlyInAnyOrderElementsOf(customerOrders)
+                    .allSatisfy(order -> assertThat(order.getItems()).isNotEmpty());
+        }
+    }
+
+    @Test
+    void shouldReturnCustomerOrderSummaries() {
+        CustomerId customerId = new CustomerId();
+        Order order = OrderTestDataBuilder.anOrder().withCustomerId(customerId).withStatus(OrderStatus.PAID).build();
+        orders.save(order);
+
+        List<OrderSummary> summaries = orders.summariesOfCustomer(customerId, null, 10);
+
+        assertThat(summaries).singleElement().satisfies(summary -> {
+            assertThat(summary.id()).isEqualTo(order.getId());
+            assertThat(summary.customerId()).isEqualTo(customerId);
+            assertThat(summary.status()).isEqualTo(OrderStatus.PAID);
+            assertThat(summary.totalAmount()).isEqualTo(order.getTotalAmount());
+            assertThat(summary.totalItems()).isEqualTo(order.getTotalItems());
+            assertThat(summary.placedAt()).isEqualTo(order.getPlacedAt());
+            assertThat(summary.paidAt()).isEqualTo(order.getPaidAt());
+        });
+    }
+
+    @Test
+    void shouldChangeStatusInBulkAndReportFailedIds() {
+        Order placed = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.PLACED).build();
+        Order otherPlaced = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.PLACED).build();
+        Order draft = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.DRAFT).build();
+        orders.saveAll(List.of(placed, otherPlaced, draft));
+        OrderId unknownId = new OrderId();
+
+        Set<OrderId> failedIds = orders.changeStatus(
+                List.of(placed.getId(), otherPlaced.getId(), draft.getId(), unknownId), OrderStatus.PAID);
+
+        assertThat(failedIds).containsExactlyInAnyOrder(draft.getId(), unknownId);
+        assertThat(orders.ofIds(List.of(placed.getId(), otherPlaced.getId()))).allSatisfy(order -> {
+            assertThat(order.isPaid()).isTrue();
+            assertThat(order.getPaidAt()).isPositive();
+            assertThat(order.getVersion()).isEqualTo(2L);
+        });
+        assertThat(orders.ofId(draft.getId()).orElseThrow().isDraft()).isTrue();
+    }
+
+    @Test
+    void shouldNotAllowBulkChangeToPlaced() {
+        assertThatThrownBy(() -> orders.changeStatus(List.of(new OrderId()), OrderStatus.PLACED))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 }
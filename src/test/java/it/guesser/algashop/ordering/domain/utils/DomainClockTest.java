@@ -0,0 +1,98 @@
+package it.guesser.algashop.ordering.domain.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+class DomainClockTest {
+
+    private static final Instant START = Instant.parse("2025-03-10T23:30:00Z");
+
+    @Test
+    void givenManualClock_whenRunWith_thenDomainClockReadsIt() {
+        ManualClock clock = new ManualClock(START);
+
+        DomainClock.runWith(clock, () -> {
+            assertThat(DomainClock.now()).isEqualTo(START);
+            assertThat(DomainClock.currentTimeMillis()).isEqualTo(START.toEpochMilli());
+            assertThat(DomainClock.today()).isEqualTo(LocalDate.of(2025, 3, 10));
+
+            clock.advance(Duration.ofHours(1));
+
+            assertThat(DomainClock.now()).isEqualTo(START.plus(Duration.ofHours(1)));
+            assertThat(DomainClock.today()).isEqualTo(LocalDate.of(2025, 3, 11));
+        });
+    }
+
+    @Test
+    void givenManualClock_whenRunWith_thenOtherThreadsKeepTheProcessWideClock() throws Exception {
+        Instant seenByOtherThread = DomainClock.callWith(new ManualClock(START), () -> {
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                return executor.submit(DomainClock::now).get();
+            }
+        });
+
+        assertThat(seenByOtherThread).isAfter(START);
+        assertThat(DomainClock.now()).isAfter(START);
+    }
+
+    @Test
+    void givenManualClock_whenZoned_thenCopyMovesWithIt() {
+        ManualClock clock = new ManualClock(START);
+        var zoned = clock.withZone(ZoneId.of("Europe/Rome"));
+
+        clock.set(START.plusSeconds(60));
+
+        assertThat(zoned.instant()).isEqualTo(START.plusSeconds(60));
+        assertThat(clock.withZone(ZoneOffset.UTC)).isSameAs(clock);
+    }
+
+    @Test
+    void givenCoarseClock_whenRead_thenItStaysWithinResolutionOfSystemTime() throws InterruptedException {
+        try (CoarseClock clock = new CoarseClock(Duration.ofMillis(1))) {
+            Thread.sleep(20);
+            long before = System.currentTimeMillis();
+            long coarse = clock.millis();
+            long after = System.currentTimeMillis();
+
+            // generous upper bound on the lag, the ticker thread may be descheduled on a busy machine
+            assertThat(coarse).isBetween(before - 200, after);
+            assertThat(clock.instant().toEpochMilli()).isGreaterThanOrEqualTo(coarse);
+        }
+    }
+
+    @Test
+    void givenCoarseClock_whenClosed_thenItStopsAdvancing() throws InterruptedException {
+        CoarseClock clock = new CoarseClock(Duration.ofMillis(1));
+        clock.close();
+        Thread.sleep(20);
+        long stopped = clock.millis();
+
+        Thread.sleep(20);
+
+        assertThat(clock.millis()).isEqualTo(stopped);
+    }
+
+    @Test
+    void givenNonPositiveResolution_whenCoarseClock_thenThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> new CoarseClock(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void givenNullClock_whenUse_thenThrowsNullPointerException() {
+        assertThatThrownBy(() -> DomainClock.use(null))
+                .isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> DomainClock.runWith(null, () -> {}))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+}
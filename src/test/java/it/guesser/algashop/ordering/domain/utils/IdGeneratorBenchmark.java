@@ -0,0 +1,55 @@
+package it.guesser.algashop.ordering.domain.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Cost per id of reserveTSIDs blocks versus one by one generateTSID calls.
+ * Runs with the benchmarks profile only (mvn test -Pbenchmarks), numbers are printed for comparison between runs.
+ */
+class IdGeneratorBenchmark {
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int ROUNDS = 2_000;
+
+    @Test
+    void reservedBlocksVersusOneByOne() {
+        int count = IdGenerator.maxTsidBlockSize();
+
+        generateOneByOne(count, WARMUP_ROUNDS);
+        consumeBlocks(count, WARMUP_ROUNDS);
+
+        long start = System.nanoTime();
+        generateOneByOne(count, ROUNDS);
+        long oneByOne = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long checksum = consumeBlocks(count, ROUNDS);
+        long blocks = System.nanoTime() - start;
+
+        System.out.printf("TSID ns/id: generateTSID=%.1f reserveTSIDs=%.1f%n",
+                (double) oneByOne / ((long) ROUNDS * count), (double) blocks / ((long) ROUNDS * count));
+        assertThat(checksum).isBetween(0L, (long) ROUNDS * count);
+    }
+
+    private static void generateOneByOne(int count, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < count; i++) {
+                IdGenerator.generateTSID();
+            }
+        }
+    }
+
+    private static long consumeBlocks(int count, int rounds) {
+        long checksum = 0;
+        for (int round = 0; round < rounds; round++) {
+            TsidBlock block = IdGenerator.reserveTSIDs(count);
+            while (block.hasNext()) {
+                checksum += block.next().toLong() & 1;
+            }
+        }
+        return checksum;
+    }
+
+}
@@ -1,26 +1,111 @@
-package it.guesser.algashop.ordering.domain.utils;
-
-import static org.assertj.core.api.Assertions.assertThat;
-
-import java.util.UUID;
-
-import org.junit.jupiter.api.Test;
-
-public class IdGeneratorTest {
-
-    @Test
-    void generateTimeBasedUuidShouldReturnNonNullUuid() {
-        UUID uuid = IdGenerator.generateTimeBasedUuid();
-
-        assertThat(uuid).isNotNull();
-    }
-
-    @Test
-    void generateTimeBasedUuidShouldGenerateDifferentValuesOnSubsequentCalls() {
-        UUID first = IdGenerator.generateTimeBasedUuid();
-        UUID second = IdGenerator.generateTimeBasedUuid();
-
-        assertThat(first).isNotEqualTo(second);
-    }
-
-}
+package it.guesser.algashop.ordering.domain.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import io.hypersistence.tsid.TSID;
+
+public class IdGeneratorTest {
+
+    @Test
+    void generateTimeBasedUuidShouldReturnNonNullUuid() {
+        UUID uuid = IdGenerator.generateTimeBasedUuid();
+
+        assertThat(uuid).isNotNull();
+    }
+
+    @Test
+    void generateTimeBasedUuidShouldGenerateDifferentValuesOnSubsequentCalls() {
+        UUID first = IdGenerator.generateTimeBasedUuid();
+        UUID second = IdGenerator.generateTimeBasedUuid();
+
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    @Test
+    void reserveTSIDsShouldHandOutContiguousIdsThatNeverClashWithGeneratedOnes() {
+        TsidBlock block = IdGenerator.reserveTSIDs(500);
+        TSID generated = IdGenerator.generateTSID();
+
+        List<Long> reserved = new ArrayList<>();
+        while (block.hasNext()) {
+            reserved.add(block.next().toLong());
+        }
+
+        assertThat(reserved).hasSize(500).doesNotContain(generated.toLong());
+        for (int i = 1; i < reserved.size(); i++) {
+            assertThat(reserved.get(i)).isEqualTo(reserved.get(0) + i);
+        }
+        assertThat(generated.toLong()).isGreaterThan(reserved.get(reserved.size() - 1));
+    }
+
+    @Test
+    void reserveTSIDsShouldMoveToTheNextMillisecondWhenTheCounterIsExhausted() {
+        int capacity = IdGenerator.maxTsidBlockSize();
+
+        TSID lastOfFirst = last(IdGenerator.reserveTSIDs(capacity));
+        TSID firstOfSecond = IdGenerator.reserveTSIDs(capacity).next();
+
+        assertThat(firstOfSecond.toLong()).isGreaterThan(lastOfFirst.toLong());
+        assertThat(firstOfSecond.getUnixMilliseconds()).isGreaterThan(lastOfFirst.getUnixMilliseconds());
+    }
+
+    @Test
+    void reserveTSIDsShouldRejectBlocksLargerThanTheCounterSpace() {
+        assertThatThrownBy(() -> IdGenerator.reserveTSIDs(IdGenerator.maxTsidBlockSize() + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> IdGenerator.reserveTSIDs(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sharedTsidFactoryShouldUseTheSameNodeFieldLayoutAsLeasedNodes() {
+        int nodeFieldBits = IdGenerator.tsidNodeBits() + IdGenerator.tsidStripeBits();
+
+        assertThat(IdGenerator.maxTsidBlockSize()).isEqualTo(1 << (22 - nodeFieldBits));
+    }
+
+    @Test
+    void exhaustedBlockShouldThrowNoSuchElementException() {
+        TsidBlock block = IdGenerator.reserveTSIDs(1);
+        block.next();
+
+        assertThat(block.hasNext()).isFalse();
+        assertThat(block.remaining()).isZero();
+        assertThatThrownBy(block::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void reserveTimeBasedUuidsShouldHandOutIncreasingVersion7Uuids() {
+        TimeBasedUuidBlock block = IdGenerator.reserveTimeBasedUuids(10_000);
+
+        UUID previous = block.next();
+        assertThat(previous.version()).isEqualTo(7);
+        assertThat(previous.variant()).isEqualTo(2);
+        while (block.hasNext()) {
+            UUID current = block.next();
+            assertThat(current.version()).isEqualTo(7);
+            assertThat(current.variant()).isEqualTo(2);
+            assertThat(current.getMostSignificantBits()).isEqualTo(previous.getMostSignificantBits());
+            assertThat(current.getLeastSignificantBits()).isEqualTo(previous.getLeastSignificantBits() + 1);
+            previous = current;
+        }
+        assertThatThrownBy(block::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    private static TSID last(TsidBlock block) {
+        TSID last = block.next();
+        while (block.hasNext()) {
+            last = block.next();
+        }
+        return last;
+    }
+
+}
@@ -0,0 +1,85 @@
+package it.guesser.algashop.ordering.domain.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.impl.TimeBasedEpochRandomGenerator;
+
+/*
+ * Contention comparison with the single synchronized TimeBasedEpochRandomGenerator used before,
+ * on platform and virtual threads.
+ * Runs with the benchmarks profile only (mvn test -Pbenchmarks), numbers are printed for comparison between runs.
+ */
+class StripedTimeBasedUuidGeneratorBenchmark {
+
+    private static final int TOTAL_IDS = 256_000;
+
+    @Test
+    void sharedVersusStriped() throws InterruptedException {
+        for (boolean virtual : new boolean[] {false, true}) {
+            for (int threads : new int[] {1, 8, 32, 256}) {
+                TimeBasedEpochRandomGenerator shared = Generators.timeBasedEpochRandomGenerator();
+                StripedTimeBasedUuidGenerator striped = new StripedTimeBasedUuidGenerator(5);
+                int perThread = TOTAL_IDS / threads;
+
+                long sharedNanos = run(virtual, threads, perThread, shared::generate, null);
+                Set<UUID> ids = ConcurrentHashMap.newKeySet();
+                long stripedNanos = run(virtual, threads, perThread, striped::generate, ids);
+
+                System.out.printf("UUIDv7 ops/ms with %d %s threads: shared=%.0f striped=%.0f%n", threads,
+                        virtual ? "virtual" : "platform", opsPerMilli(TOTAL_IDS, sharedNanos),
+                        opsPerMilli(TOTAL_IDS, stripedNanos));
+                assertThat(ids).hasSize(threads * perThread);
+            }
+        }
+    }
+
+    private static long run(boolean virtual, int threads, int perThread, Supplier<UUID> generator, Set<UUID> sink)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread.Builder builder = virtual ? Thread.ofVirtual() : Thread.ofPlatform();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(builder.start(() -> {
+                awaitQuietly(start);
+                List<UUID> generated = new ArrayList<>(perThread);
+                for (int j = 0; j < perThread; j++) {
+                    generated.add(generator.get());
+                }
+                if (sink != null) {
+                    sink.addAll(generated);
+                }
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return System.nanoTime() - begin;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static double opsPerMilli(long ops, long nanos) {
+        return ops / (nanos / 1_000_000.0);
+    }
+
+}
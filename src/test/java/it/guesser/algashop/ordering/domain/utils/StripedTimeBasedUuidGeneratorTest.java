@@ -0,0 +1,108 @@
+package it.guesser.algashop.ordering.domain.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+class StripedTimeBasedUuidGeneratorTest {
+
+    @Test
+    void givenOneStripe_whenGeneratingManyIds_thenTheyAreStrictlyIncreasingVersion7Uuids() {
+        StripedTimeBasedUuidGenerator generator = new StripedTimeBasedUuidGenerator(0);
+
+        UUID previous = generator.generate();
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = generator.generate();
+            assertThat(current.version()).isEqualTo(7);
+            assertThat(current.variant()).isEqualTo(2);
+            assertThat(compareUnsigned(current, previous)).isPositive();
+            previous = current;
+        }
+    }
+
+    @Test
+    void givenManualClock_whenCounterRunsOut_thenTheStripeMovesToTheNextMillisecond() {
+        ManualClock clock = new ManualClock(Instant.parse("2025-04-01T08:00:00Z"));
+        StripedTimeBasedUuidGenerator generator = new StripedTimeBasedUuidGenerator(0, clock);
+        long millis = clock.millis();
+
+        UUID previous = generator.generate();
+        for (int i = 0; i < 5_000; i++) {
+            UUID current = generator.generate();
+            assertThat(compareUnsigned(current, previous)).isPositive();
+            previous = current;
+        }
+
+        assertThat(previous.getMostSignificantBits() >>> 16).isGreaterThan(millis);
+    }
+
+    @Test
+    void givenDomainClockRewound_whenGenerating_thenIdsStillFollowTheSystemClock() {
+        StripedTimeBasedUuidGenerator generator = new StripedTimeBasedUuidGenerator(0);
+        long before = System.currentTimeMillis();
+
+        UUID generated = DomainClock.callWith(new ManualClock(Instant.parse("2020-01-01T00:00:00Z")),
+                generator::generate);
+
+        assertThat(generated.getMostSignificantBits() >>> 16).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    void givenInvalidStripeBits_whenCreated_thenThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> new StripedTimeBasedUuidGenerator(17))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void givenConcurrentThreads_whenGenerating_thenIdsAreUnique() throws InterruptedException {
+        StripedTimeBasedUuidGenerator generator = new StripedTimeBasedUuidGenerator(2);
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+
+        run(16, 5_000, generator::generate, ids);
+
+        assertThat(ids).hasSize(16 * 5_000);
+    }
+
+    private static void run(int threads, int perThread, Supplier<UUID> generator, Set<UUID> sink)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(Thread.ofVirtual().start(() -> {
+                awaitQuietly(start);
+                for (int j = 0; j < perThread; j++) {
+                    sink.add(generator.get());
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+}
@@ -0,0 +1,78 @@
+package it.guesser.algashop.ordering.domain.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import io.hypersistence.tsid.TSID;
+
+/*
+ * Throughput of the shared TSID.Factory versus the striped one with the same number of threads.
+ * Runs with the benchmarks profile only (mvn test -Pbenchmarks), numbers are printed for comparison between runs.
+ */
+class StripedTsidFactoryBenchmark {
+
+    private static final int PER_THREAD = 20_000;
+
+    @Test
+    void sharedVersusStriped() throws InterruptedException {
+        for (int threads : new int[] {1, 8, 32}) {
+            TSID.Factory shared = TSID.Factory.builder().withNode(3).withNodeBits(8).build();
+            StripedTsidFactory striped = new StripedTsidFactory(3, 8, 4);
+
+            long sharedNanos = run(threads, shared::generate, null);
+            Set<Long> ids = ConcurrentHashMap.newKeySet();
+            long stripedNanos = run(threads, striped::generate, ids);
+
+            System.out.printf("TSID ops/ms with %d threads: shared=%.0f striped=%.0f%n", threads,
+                    opsPerMilli(threads * PER_THREAD, sharedNanos), opsPerMilli(threads * PER_THREAD, stripedNanos));
+            assertThat(ids).hasSize(threads * PER_THREAD);
+        }
+    }
+
+    private static long run(int threads, Supplier<TSID> generator, Set<Long> sink) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(Thread.ofPlatform().start(() -> {
+                awaitQuietly(start);
+                long[] generated = new long[PER_THREAD];
+                for (int j = 0; j < PER_THREAD; j++) {
+                    generated[j] = generator.get().toLong();
+                }
+                if (sink != null) {
+                    for (long id : generated) {
+                        sink.add(id);
+                    }
+                }
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return System.nanoTime() - begin;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static double opsPerMilli(long ops, long nanos) {
+        return ops / (nanos / 1_000_000.0);
+    }
+
+}
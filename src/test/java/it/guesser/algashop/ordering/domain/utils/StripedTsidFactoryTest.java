@@ -0,0 +1,125 @@
+package it.guesser.algashop.ordering.domain.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import io.hypersistence.tsid.TSID;
+
+class StripedTsidFactoryTest {
+
+    @Test
+    void givenManyThreads_whenGenerating_thenIdsAreUnique() throws InterruptedException {
+        StripedTsidFactory factory = new StripedTsidFactory(3, 8, 4);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        run(16, 5_000, () -> {
+            TSID tsid = factory.generate();
+            ids.add(tsid.toLong());
+            return tsid;
+        });
+
+        assertThat(ids).hasSize(16 * 5_000);
+    }
+
+    @Test
+    void givenNodeAndStripes_whenGenerating_thenNodeFieldHoldsNodeAndStripe() {
+        StripedTsidFactory factory = new StripedTsidFactory(5, 8, 4);
+
+        long random = factory.generate().getRandom();
+        // 22 random bits: 8 node bits, 4 stripe bits, 10 counter bits
+        long nodeField = random >>> 10;
+
+        assertThat(factory.stripes()).isEqualTo(16);
+        assertThat(nodeField >>> 4).isEqualTo(5);
+        assertThat(nodeField & 0xF).isEqualTo(Thread.currentThread().threadId() & 0xF);
+    }
+
+    @Test
+    void givenDomainClockRewound_whenGenerating_thenIdsStillFollowTheSystemClock() {
+        StripedTsidFactory factory = new StripedTsidFactory(0, 8, 0);
+        long before = System.currentTimeMillis();
+
+        TSID generated = DomainClock.callWith(new ManualClock(Instant.parse("2020-01-01T00:00:00Z")),
+                factory::generate);
+
+        assertThat(generated.getUnixMilliseconds()).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    void givenExpiry_whenReached_thenIdsAreRefusedUntilItMovesForward() {
+        ManualClock clock = new ManualClock(Instant.parse("2025-02-01T12:00:00Z"));
+        StripedTsidFactory factory = new StripedTsidFactory(3, 8, 0, clock);
+        factory.expireAt(clock.millis() + 1_000);
+
+        assertThat(factory.generate().getUnixMilliseconds()).isEqualTo(clock.millis());
+
+        clock.advance(Duration.ofSeconds(1));
+
+        assertThatThrownBy(factory::generate).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> factory.reserve(1)).isInstanceOf(IllegalStateException.class);
+
+        factory.expireAt(clock.millis() + 1_000);
+
+        assertThat(factory.generate().getUnixMilliseconds()).isEqualTo(clock.millis());
+    }
+
+    @Test
+    void givenNodeOutOfRange_whenCreated_thenThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> new StripedTsidFactory(256, 8, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new StripedTsidFactory(0, 16, 6))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void givenStripedTsid_whenInstalled_thenIdGeneratorUsesIt() {
+        IdGenerator.useStripedTsid(7, 8, 2);
+        try {
+            long nodeField = IdGenerator.generateTSID().getRandom() >>> 12;
+
+            assertThat(nodeField >>> 2).isEqualTo(7);
+        } finally {
+            IdGenerator.useSharedTsid();
+        }
+    }
+
+    private static long run(int threads, int perThread, Supplier<TSID> generator) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(Thread.ofPlatform().start(() -> {
+                awaitQuietly(start);
+                for (int j = 0; j < perThread; j++) {
+                    generator.get();
+                }
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return System.nanoTime() - begin;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package it.guesser.algashop.ordering.domain.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+
+import org.apache.commons.validator.routines.EmailValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class EmailSyntaxTest {
+
+    private static final String[] USER_PARTS = {"john", "j.doe", "a", "x_y", "o'neil", "a+tag", "\"quoted\"", "sp ace",
+            "dots..", ".lead", "trail.", "ção", "a\\@b", "UPPER", "1234", "a(b)", "a,b", "!#$%&*/=?^`{|}~"};
+    private static final String[] DOMAIN_PARTS = {"example", "ex-ample", "-bad", "bad-", "a", "EXAMPLE", "mail",
+            "123", "xn--bcher-kva", "über", "[127.0.0.1]", "", "a".repeat(64), "b".repeat(63)};
+    private static final String[] TLDS = {"com", "COM", "org", "br", "it", "museum", "xyz", "invalidtld", "c0m", "1com",
+            "x", "local", "co-m"};
+
+    @ParameterizedTest
+    @ValueSource(strings = {"john.doe@example.com", "John.Doe@Example.COM", "a@b.co", "o'neil+tag@mail.example.org",
+            "john@example", "john@example.invalidtld", "john..doe@example.com", ".john@example.com",
+            "john@-example.com", "john@example.com.", "\"john doe\"@example.com", "john@[127.0.0.1]",
+            "joão@example.com", "john@@example.com", "@example.com", "john@", "john"})
+    void givenKnownAddresses_whenIsValid_thenMatchesEmailValidator(String email) {
+        assertThat(EmailSyntax.isValid(email)).isEqualTo(EmailValidator.getInstance().isValid(email));
+    }
+
+    // Property: on random combinations of valid and invalid parts both validators always agree
+    @Test
+    void givenRandomAddresses_whenIsValid_thenAlwaysMatchesEmailValidator() {
+        Random random = new Random(20_250_101L);
+
+        for (int i = 0; i < 20_000; i++) {
+            String email = randomEmail(random);
+
+            assertThat(EmailSyntax.isValid(email))
+                    .as(email)
+                    .isEqualTo(EmailValidator.getInstance().isValid(email));
+        }
+    }
+
+    private String randomEmail(Random random) {
+        StringBuilder email = new StringBuilder();
+
+        int userParts = 1 + random.nextInt(3);
+        for (int i = 0; i < userParts; i++) {
+            if (i > 0) {
+                email.append(random.nextInt(10) == 0 ? ".." : ".");
+            }
+            email.append(USER_PARTS[random.nextInt(USER_PARTS.length)]);
+        }
+
+        email.append(random.nextInt(20) == 0 ? "@@" : "@");
+
+        int domainParts = random.nextInt(4);
+        for (int i = 0; i < domainParts; i++) {
+            email.append(DOMAIN_PARTS[random.nextInt(DOMAIN_PARTS.length)]).append('.');
+        }
+        email.append(TLDS[random.nextInt(TLDS.length)]);
+
+        if (random.nextInt(20) == 0) {
+            email.append('.');
+        }
+        return email.toString();
+    }
+
+}
@@ -0,0 +1,63 @@
+package it.guesser.algashop.ordering.domain.validator;
+
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.StringUtils.trimToNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.commons.validator.routines.EmailValidator;
+import org.junit.jupiter.api.Test;
+
+/*
+ * Throughput of e-mail validation: requireNonBlank + EmailSyntax against the requireNonNull(trimToNull(..)) +
+ * EmailValidator path used before, on a mix of common, padded, invalid and delegated (quoted, IP literal) addresses.
+ * Runs with the benchmarks profile only (mvn test -Pbenchmarks), numbers are printed for comparison between runs.
+ */
+class FieldsValidationBenchmark {
+
+    private static final String[] EMAILS = {"john.doe@example.com", "  Maria.Silva@Mail.Example.ORG ",
+            "o'neil+tag@mail.example.it", "a@b.co", "john..doe@example.com", "john@example.invalidtld",
+            "john@-example.com", "\"john doe\"@example.com", "john@[127.0.0.1]", "john"};
+
+    private static final int WARMUP_VALIDATIONS = 200_000;
+    private static final int VALIDATIONS = 2_000_000;
+
+    @Test
+    void handWrittenVersusEmailValidator() {
+        validateHandWritten(WARMUP_VALIDATIONS);
+        validateWithEmailValidator(WARMUP_VALIDATIONS);
+
+        long start = System.nanoTime();
+        int handWrittenValid = validateHandWritten(VALIDATIONS);
+        long handWrittenNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int emailValidatorValid = validateWithEmailValidator(VALIDATIONS);
+        long emailValidatorNanos = System.nanoTime() - start;
+
+        System.out.printf("E-mail validations/ms: hand-written=%.0f EmailValidator=%.0f%n",
+                VALIDATIONS / (handWrittenNanos / 1_000_000.0), VALIDATIONS / (emailValidatorNanos / 1_000_000.0));
+        assertThat(handWrittenValid).isEqualTo(emailValidatorValid);
+    }
+
+    private static int validateHandWritten(int validations) {
+        int valid = 0;
+        for (int i = 0; i < validations; i++) {
+            if (EmailSyntax.isValid(FieldsValidation.requireNonBlank(EMAILS[i % EMAILS.length]))) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    // What requireValidEmail did before the hand-written parsing
+    private static int validateWithEmailValidator(int validations) {
+        int valid = 0;
+        for (int i = 0; i < validations; i++) {
+            if (EmailValidator.getInstance().isValid(requireNonNull(trimToNull(EMAILS[i % EMAILS.length])))) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+}
@@ -0,0 +1,57 @@
+package it.guesser.algashop.ordering.domain.validator;
+
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.StringUtils.trimToNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class FieldsValidationTest {
+
+    private static final char[] ALPHABET = {' ', ' ', '\t', '\n', '\u0000', '\u0001', ' ', ' ', 'a', 'Z', '5',
+            '-', '.'};
+
+    @Test
+    void givenNull_whenRequireNonBlank_thenThrowsNullPointerException() {
+        assertThatThrownBy(() -> FieldsValidation.requireNonBlank(null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void givenTrimmedValue_whenRequireNonBlank_thenReturnsTheSameInstance() {
+        String value = "already trimmed";
+
+        assertThat(FieldsValidation.requireNonBlank(value)).isSameAs(value);
+    }
+
+    // Property: behaves exactly like requireNonNull(trimToNull(value)) on random strings
+    @Test
+    void givenRandomStrings_whenRequireNonBlank_thenMatchesTrimToNull() {
+        Random random = new Random(20_250_101L);
+
+        for (int i = 0; i < 20_000; i++) {
+            String value = randomString(random);
+            String expected = trimToNull(value);
+
+            if (expected == null) {
+                assertThatThrownBy(() -> FieldsValidation.requireNonBlank(value))
+                        .as("[%s]", value)
+                        .isInstanceOf(NullPointerException.class);
+            } else {
+                assertThat(FieldsValidation.requireNonBlank(value)).as("[%s]", value).isEqualTo(requireNonNull(expected));
+            }
+        }
+    }
+
+    private String randomString(Random random) {
+        char[] chars = new char[random.nextInt(8)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+        }
+        return new String(chars);
+    }
+
+}
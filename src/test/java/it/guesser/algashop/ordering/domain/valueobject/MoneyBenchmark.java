@@ -0,0 +1,59 @@
+package it.guesser.algashop.ordering.domain.valueobject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Cost of the line total arithmetic (price * quantity added to a running total) with Money as a long of cents,
+ * against the BigDecimal record it replaced: a multiply, an add and a setScale(2, HALF_EVEN) per operation.
+ * Runs with the benchmarks profile only (mvn test -Pbenchmarks), numbers are printed for comparison between runs.
+ */
+class MoneyBenchmark {
+
+    private static final int WARMUP_LINES = 500_000;
+    private static final int LINES = 10_000_000;
+
+    @Test
+    void longCentsVersusBigDecimal() {
+        Money price = new Money("12.34");
+        BigDecimal basePrice = new BigDecimal("12.34");
+
+        sumWithMoney(price, WARMUP_LINES);
+        sumWithBigDecimal(basePrice, WARMUP_LINES);
+
+        long start = System.nanoTime();
+        Money total = sumWithMoney(price, LINES);
+        long moneyNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        BigDecimal baseTotal = sumWithBigDecimal(basePrice, LINES);
+        long bigDecimalNanos = System.nanoTime() - start;
+
+        System.out.printf("Line total ns/op: long cents=%.1f BigDecimal=%.1f%n",
+                (double) moneyNanos / LINES, (double) bigDecimalNanos / LINES);
+        assertThat(total.value()).isEqualByComparingTo(baseTotal);
+    }
+
+    private static Money sumWithMoney(Money price, int lines) {
+        Money total = Money.ZERO;
+        for (int i = 0; i < lines; i++) {
+            total = total.add(price.multiply(Quantity.of(1 + (i & 3))));
+        }
+        return total;
+    }
+
+    // What the BigDecimal record did: every result rescaled in the constructor
+    private static BigDecimal sumWithBigDecimal(BigDecimal price, int lines) {
+        BigDecimal total = BigDecimal.ZERO.setScale(2, RoundingMode.HALF_EVEN);
+        for (int i = 0; i < lines; i++) {
+            BigDecimal line = price.multiply(new BigDecimal(1 + (i & 3))).setScale(2, RoundingMode.HALF_EVEN);
+            total = total.add(line).setScale(2, RoundingMode.HALF_EVEN);
+        }
+        return total;
+    }
+
+}
@@ -30,6 +30,20 @@ public class MoneyTest {
                 .hasMessage("Money cannot be negative");
     }
 
+    @Test
+    void givenSmallNegativeValue_whenConstructingMoney_thenThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> new Money("-0.004"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Money cannot be negative");
+    }
+
+    @Test
+    void givenValueBeyondLongCents_whenConstructingMoney_thenThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> new Money("100000000000000000.00"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Money exceeds the supported range");
+    }
+
     @Test
     void givenNullValue_whenConstructingMoney_thenThrowsNullPointerException() {
         assertThatThrownBy(() -> new Money((BigDecimal) null))
@@ -139,4 +153,40 @@ public class MoneyTest {
         assertThatThrownBy(() -> money.compareTo(null))
                 .isInstanceOf(NullPointerException.class);
     }
+
+    @Test
+    void givenTwoMoneyValues_whenSubtract_thenReturnsDifference() {
+        assertThat(new Money("100.00").subtract(new Money("30.50"))).isEqualTo(new Money("69.50"));
+    }
+
+    @Test
+    void givenBiggerMoneyToSubtract_whenSubtract_thenThrowsIllegalArgumentException() {
+        Money money = new Money("10.00");
+
+        assertThatThrownBy(() -> money.subtract(new Money("10.01")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void givenDecimalValue_whenConstructing_thenKeepsItAsCents() {
+        Money money = new Money("12.34");
+
+        assertThat(money.cents()).isEqualTo(1234L);
+        assertThat(money).isEqualTo(Money.ofCents(1234L));
+        assertThat(money.value()).isEqualTo(new BigDecimal("12.34"));
+    }
+
+    @Test
+    void givenNegativeCents_whenOfCents_thenThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> Money.ofCents(-1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void givenHugeAmount_whenMultiplying_thenThrowsArithmeticException() {
+        Money money = Money.ofCents(Long.MAX_VALUE / 2);
+
+        assertThatThrownBy(() -> money.multiply(new Quantity(3)))
+                .isInstanceOf(ArithmeticException.class);
+    }
 }
@@ -88,4 +88,35 @@ public class QuantityTest {
         assertThatThrownBy(() -> quantity.compareTo(null))
                 .isInstanceOf(NullPointerException.class);
     }
+
+    @Test
+    void givenTwoQuantities_whenSubtract_thenReturnsDifference() {
+        assertThat(new Quantity(10).subtract(new Quantity(4))).isEqualTo(new Quantity(6));
+    }
+
+    @Test
+    void givenBiggerQuantityToSubtract_whenSubtract_thenThrowsIllegalArgumentException() {
+        Quantity quantity = new Quantity(1);
+
+        assertThatThrownBy(() -> quantity.subtract(new Quantity(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void givenSmallValue_whenOf_thenReturnsCachedInstance() {
+        assertThat(Quantity.of(3)).isSameAs(Quantity.of(3));
+        assertThat(Quantity.of(0)).isSameAs(Quantity.ZERO);
+        assertThat(new Quantity(2).add(new Quantity(1))).isSameAs(Quantity.of(3));
+    }
+
+    @Test
+    void givenLargeValue_whenOf_thenReturnsEqualQuantity() {
+        assertThat(Quantity.of(10_000)).isEqualTo(new Quantity(10_000));
+    }
+
+    @Test
+    void givenNegativeValue_whenOf_thenThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> Quantity.of(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 }
@@ -0,0 +1,56 @@
+package it.guesser.algashop.ordering.infrastructure.auditing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class AuditingContextTest {
+
+    @Test
+    void givenNoBoundUser_whenCurrentUserId_thenSystemUserIsReturned() {
+        assertThat(AuditingContext.currentUserId()).isEqualTo(AuditingContext.SYSTEM_USER_ID);
+        assertThat(AuditingContext.currentAuditor()).isSameAs(AuditingContext.currentAuditor());
+    }
+
+    @Test
+    void givenBoundUser_whenRunAs_thenItIsVisibleOnlyInsideTheScope() {
+        UUID userId = UUID.randomUUID();
+        AtomicReference<UUID> seen = new AtomicReference<>();
+
+        AuditingContext.runAs(userId, () -> seen.set(AuditingContext.currentUserId()));
+
+        assertThat(seen).hasValue(userId);
+        assertThat(AuditingContext.currentUserId()).isEqualTo(AuditingContext.SYSTEM_USER_ID);
+    }
+
+    @Test
+    void givenBoundUser_whenReadRepeatedly_thenTheSameOptionalIsReturned() {
+        AuditingContext.runAs(UUID.randomUUID(),
+                () -> assertThat(AuditingContext.currentAuditor()).isSameAs(AuditingContext.currentAuditor()));
+    }
+
+    @Test
+    void givenNestedScopes_whenCallAs_thenInnerUserWinsAndOuterIsRestored() {
+        UUID outer = UUID.randomUUID();
+        UUID inner = UUID.randomUUID();
+
+        UUID afterInner = AuditingContext.callAs(outer, () -> {
+            UUID seenInside = AuditingContext.callAs(inner, AuditingContext::currentUserId);
+            assertThat(seenInside).isEqualTo(inner);
+            return AuditingContext.currentUserId();
+        });
+
+        assertThat(afterInner).isEqualTo(outer);
+    }
+
+    @Test
+    void givenNullUser_whenRunAs_thenThrowsNullPointerException() {
+        assertThatThrownBy(() -> AuditingContext.runAs(null, () -> {
+        })).isInstanceOf(NullPointerException.class);
+    }
+
+}
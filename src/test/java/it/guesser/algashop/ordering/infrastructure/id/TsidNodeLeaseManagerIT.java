@@ -0,0 +1,156 @@
+package it.guesser.algashop.ordering.infrastructure.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import it.guesser.algashop.ordering.domain.utils.IdGenerator;
+import it.guesser.algashop.ordering.domain.utils.ManualClock;
+import it.guesser.algashop.ordering.infrastructure.persistence.repository.TsidNodeLeasePersistenceEntityRepository;
+
+// Leases are taken in their own transactions, as several instances would, so no test transaction wraps them
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TsidNodeLeaseManagerIT {
+
+    private static final long TTL_SECONDS = 60;
+
+    private final TsidNodeLeasePersistenceEntityRepository repository;
+    private final PlatformTransactionManager transactionManager;
+    private final ManualClock clock = new ManualClock(Instant.parse("2025-02-01T12:00:00Z"));
+
+    @Autowired
+    TsidNodeLeaseManagerIT(TsidNodeLeasePersistenceEntityRepository repository,
+            PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.transactionManager = transactionManager;
+    }
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        IdGenerator.useSharedTsid();
+    }
+
+    @Test
+    void givenTwoInstances_whenAcquire_thenTheyGetDifferentNodes() {
+        int first = newManager(8).acquire().node();
+        int second = newManager(8).acquire().node();
+
+        assertThat(first).isZero();
+        assertThat(second).isEqualTo(1);
+        assertThat(repository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void givenReleasedNode_whenAnotherInstanceAcquires_thenTheNodeIsReused() {
+        TsidNodeLeaseManager first = newManager(8);
+        first.afterPropertiesSet();
+        first.destroy();
+
+        int reused = newManager(8).acquire().node();
+
+        assertThat(reused).isEqualTo(first.getNode());
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenExpiredLease_whenAnotherInstanceAcquires_thenItTakesOverAndTheOwnerMovesToANewNode() {
+        TsidNodeLeaseManager stale = newManager(8);
+        stale.afterPropertiesSet();
+        try {
+            clock.advance(Duration.ofSeconds(TTL_SECONDS + 1));
+
+            int takenOver = newManager(8).acquire().node();
+            stale.renew();
+
+            assertThat(takenOver).isZero();
+            assertThat(stale.getNode()).isEqualTo(1);
+        } finally {
+            stale.destroy();
+        }
+    }
+
+    @Test
+    void givenLiveLease_whenRenewed_thenItDoesNotExpire() {
+        TsidNodeLeaseManager owner = newManager(8);
+        owner.afterPropertiesSet();
+        try {
+            clock.advance(Duration.ofSeconds(TTL_SECONDS - 1));
+            owner.renew();
+            clock.advance(Duration.ofSeconds(TTL_SECONDS - 1));
+
+            assertThat(newManager(8).acquire().node()).isEqualTo(1);
+            assertThat(owner.getNode()).isZero();
+        } finally {
+            owner.destroy();
+        }
+    }
+
+    @Test
+    void givenLeaseNotRenewed_whenItExpires_thenIdsAreRefusedUntilTheNextRenewal() {
+        TsidNodeLeaseManager owner = newManager(8);
+        owner.afterPropertiesSet();
+        try {
+            assertThat(IdGenerator.generateTSID()).isNotNull();
+
+            clock.advance(Duration.ofSeconds(TTL_SECONDS));
+
+            assertThatThrownBy(IdGenerator::generateTSID)
+                    .isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> IdGenerator.reserveTSIDs(1))
+                    .isInstanceOf(IllegalStateException.class);
+
+            owner.renew();
+
+            assertThat(IdGenerator.generateTSID().getUnixMilliseconds()).isEqualTo(clock.millis());
+            assertThat(owner.getNode()).isZero();
+        } finally {
+            owner.destroy();
+        }
+    }
+
+    @Test
+    void givenExplicitTsidNode_whenStarting_thenKeepsTheConfiguredNodeWithoutLeasing() {
+        System.setProperty("tsid.node", "3");
+        TsidNodeLeaseManager manager = newManager(8);
+        try {
+            manager.afterPropertiesSet();
+
+            assertThat(manager.getNode()).isEqualTo(-1);
+            assertThat(repository.count()).isZero();
+        } finally {
+            manager.destroy();
+            System.clearProperty("tsid.node");
+        }
+    }
+
+    @Test
+    void givenEveryNodeLeased_whenAcquire_thenThrowsIllegalStateException() {
+        newManager(1).acquire();
+        newManager(1).acquire();
+
+        assertThatThrownBy(() -> newManager(1).acquire())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private TsidNodeLeaseManager newManager(int nodeBits) {
+        return new TsidNodeLeaseManager(repository, transactionManager, nodeBits, 4, TTL_SECONDS, clock);
+    }
+
+}
@@ -4,10 +4,16 @@ import static it.guesser.algashop.ordering.domain.entity.OrderTestDataBuilder.an
 import static it.guesser.algashop.ordering.infrastructure.persistence.entity.OrderPersistenceEntityTestDataBuilder.anOrderPersistenceEntity;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Set;
+
 import org.junit.jupiter.api.Test;
 
 import it.guesser.algashop.ordering.domain.entity.Order;
+import it.guesser.algashop.ordering.domain.entity.OrderItem;
 import it.guesser.algashop.ordering.domain.entity.OrderStatus;
+import it.guesser.algashop.ordering.domain.utils.IdGenerator;
+import it.guesser.algashop.ordering.infrastructure.persistence.disassembler.OrderPersistenceEntityDisassembler;
+import it.guesser.algashop.ordering.infrastructure.persistence.entity.OrderItemPersistenceEntity;
 import it.guesser.algashop.ordering.infrastructure.persistence.entity.OrderPersistenceEntity;
 
 class OrderPersistenceEntityAssemblerTest {
@@ -62,5 +68,56 @@ class OrderPersistenceEntityAssemblerTest {
             assertThat(e.getReadyAt()).isEqualTo(existingOrder.getReadyAt());
         });
     }
-}
 
+    @Test
+    void givenOrderWithItems_whenFromDomain_thenItemsAreMappedAndLinkedToOrder() {
+        Order order = anOrder()
+                .withStatus(OrderStatus.DRAFT)
+                .build();
+
+        OrderPersistenceEntity entity = assembler.fromDomain(order);
+
+        assertThat(entity.getItems()).hasSize(order.getItems().size());
+        assertThat(entity.getItems()).allSatisfy(item -> {
+            OrderItem orderItem = order.getItems().stream()
+                    .filter(oi -> oi.getId().value().toLong() == item.getId())
+                    .findFirst()
+                    .orElseThrow();
+            assertThat(item.getOrder()).isSameAs(entity);
+            assertThat(item.getProductId()).isEqualTo(orderItem.getProductId().value());
+            assertThat(item.getProductName()).isEqualTo(orderItem.getProductName().value());
+            assertThat(item.getProductPrice()).isEqualTo(orderItem.getProductPrice().value());
+            assertThat(item.getQuantity()).isEqualTo(orderItem.getQuantity().value());
+            assertThat(item.getTotalAmount()).isEqualTo(orderItem.getTotalAmount().value());
+        });
+    }
+
+    @Test
+    void givenExistingPersistenceEntityWithItems_whenMerge_thenItemInstancesAreKeptAndRemovedOnesDropped() {
+        Order order = anOrder()
+                .withStatus(OrderStatus.DRAFT)
+                .build();
+        OrderPersistenceEntity entity = assembler.fromDomain(order);
+        Set<OrderItemPersistenceEntity> itemsCollection = entity.getItems();
+        OrderItemPersistenceEntity keptItem = itemsCollection.iterator().next();
+
+        entity.getItems().add(OrderItemPersistenceEntity.builder().id(IdGenerator.generateTSID().toLong()).build());
+
+        assembler.merge(entity, order);
+
+        assertThat(entity.getItems()).isSameAs(itemsCollection);
+        assertThat(entity.getItems()).hasSize(order.getItems().size());
+        assertThat(entity.getItems()).contains(keptItem);
+    }
+
+    @Test
+    void givenOrderWithBillingAndShipping_whenFromDomainAndBack_thenTheyAreKept() {
+        Order order = anOrder().withStatus(OrderStatus.PLACED).build();
+
+        Order roundTripped = new OrderPersistenceEntityDisassembler().toDomain(assembler.fromDomain(order));
+
+        assertThat(roundTripped.getBilling()).isEqualTo(order.getBilling());
+        assertThat(roundTripped.getShipping()).isEqualTo(order.getShipping());
+    }
+
+}
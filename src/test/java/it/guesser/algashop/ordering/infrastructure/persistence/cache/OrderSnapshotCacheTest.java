@@ -0,0 +1,179 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.cache;
+
+import static it.guesser.algashop.ordering.domain.entity.OrderTestDataBuilder.anOrder;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import it.guesser.algashop.ordering.domain.entity.Order;
+import it.guesser.algashop.ordering.domain.entity.OrderStatus;
+import it.guesser.algashop.ordering.domain.entity.PaymentMethod;
+
+class OrderSnapshotCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final OrderSnapshotCache cache = new OrderSnapshotCache(2, Duration.ofMinutes(5), nanos::get);
+
+    @Test
+    void givenCachedOrder_whenGet_thenReturnsIsolatedCopies() {
+        Order order = anOrder().withStatus(OrderStatus.DRAFT).build();
+        cache.put(order);
+
+        Order firstCopy = cache.get(order.getId()).orElseThrow();
+        firstCopy.changePaymentMethod(PaymentMethod.CREDIT_CARD);
+        Order secondCopy = cache.get(order.getId()).orElseThrow();
+
+        assertThat(firstCopy).isNotSameAs(secondCopy);
+        assertThat(secondCopy.getPaymentMethod()).isEqualTo(order.getPaymentMethod());
+        assertThat(secondCopy.getItems()).containsExactlyInAnyOrderElementsOf(order.getItems());
+        assertThat(cache.stats().hitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void givenUnknownOrder_whenGet_thenCountsAMiss() {
+        Order order = anOrder().withStatus(OrderStatus.DRAFT).build();
+
+        assertThat(cache.get(order.getId())).isEmpty();
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void givenOlderSnapshot_whenPut_thenNewerCachedVersionIsKept() {
+        Order placed = anOrder().withStatus(OrderStatus.PLACED).build();
+        Order stale = withVersion(placed, 1);
+        placed.markAsPaid();
+        Order current = withVersion(placed, 2);
+
+        cache.put(current);
+        cache.put(stale);
+
+        assertThat(cache.get(placed.getId()).orElseThrow().isPaid()).isTrue();
+    }
+
+    @Test
+    void givenExpiredEntry_whenGet_thenItIsEvicted() {
+        Order order = anOrder().withStatus(OrderStatus.DRAFT).build();
+        cache.put(order);
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(6));
+
+        assertThat(cache.get(order.getId())).isEmpty();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.stats().evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void givenMoreOrdersThanMaximumSize_whenPut_thenCacheStaysBounded() {
+        for (int i = 0; i < 10; i++) {
+            cache.put(anOrder().withStatus(OrderStatus.DRAFT).build());
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+        assertThat(cache.stats().evictionCount()).isPositive();
+    }
+
+    @Test
+    void givenCachedOrder_whenInvalidate_thenItIsNoLongerReturned() {
+        Order order = anOrder().withStatus(OrderStatus.DRAFT).build();
+        cache.put(order);
+
+        cache.invalidate(order.getId());
+
+        assertThat(cache.get(order.getId())).isEmpty();
+    }
+
+    @Test
+    void givenCachedOrder_whenEvictedInTransaction_thenItIsGoneBeforeCommit() {
+        Order order = anOrder().withStatus(OrderStatus.PLACED).build();
+        cache.put(order);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict(order.getId());
+            cache.put(withVersion(order, order.getVersion() + 1));
+
+            assertThat(cache.get(order.getId())).isEmpty();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {TransactionSynchronization.STATUS_COMMITTED, TransactionSynchronization.STATUS_ROLLED_BACK})
+    void givenInvalidationInTransaction_whenAReaderCachesTheOldRowBeforeCompletion_thenItIsDroppedOnCompletion(
+            int completionStatus) {
+        Order order = anOrder().withStatus(OrderStatus.PLACED).build();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(order.getId());
+            // another thread, outside this transaction, reads the pre-commit row and caches it
+            CompletableFuture.runAsync(() -> cache.put(order)).join();
+            assertThat(cache.get(order.getId())).isPresent();
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), completionStatus);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cache.get(order.getId())).isEmpty();
+    }
+
+    @Test
+    void givenWrittenVersion_whenAReaderCachesAnOlderSnapshotAfterCommit_thenOnlyTheWrittenVersionIsCached() {
+        Order order = anOrder().withStatus(OrderStatus.PLACED).build();
+        long writtenVersion = order.getVersion() + 1;
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(order.getId(), writtenVersion);
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        // a reader that loaded the row before the bulk update commits its snapshot late
+        cache.put(order);
+
+        assertThat(cache.get(order.getId())).isEmpty();
+
+        cache.put(withVersion(order, writtenVersion));
+
+        assertThat(cache.get(order.getId())).map(Order::getVersion).contains(writtenVersion);
+    }
+
+    @Test
+    void givenWrittenVersion_whenRolledBack_thenOlderSnapshotsAreCachedAgain() {
+        Order order = anOrder().withStatus(OrderStatus.PLACED).build();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(order.getId(), order.getVersion() + 1);
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        cache.put(order);
+
+        assertThat(cache.get(order.getId())).isPresent();
+    }
+
+    private Order withVersion(Order order, long version) {
+        OrderSnapshot snapshot = OrderSnapshot.of(order);
+        return new OrderSnapshot(snapshot.id(), snapshot.customerId(), snapshot.totalAmount(), snapshot.totalItems(),
+                snapshot.placedAt(), snapshot.paidAt(), snapshot.canceledAt(), snapshot.readyAt(), snapshot.billing(),
+                snapshot.shipping(), snapshot.status(), snapshot.paymentMethod(), snapshot.items(), version)
+                .toDomain();
+    }
+
+}
@@ -3,12 +3,21 @@ package it.guesser.algashop.ordering.infrastructure.persistence.disassembler;
 import static it.guesser.algashop.ordering.infrastructure.persistence.entity.OrderPersistenceEntityTestDataBuilder.anOrderPersistenceEntity;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.math.BigDecimal;
+import java.util.UUID;
+
 import org.junit.jupiter.api.Test;
 
 import it.guesser.algashop.ordering.domain.entity.Order;
 import it.guesser.algashop.ordering.domain.entity.OrderStatus;
 import it.guesser.algashop.ordering.domain.entity.PaymentMethod;
+import it.guesser.algashop.ordering.domain.repository.OrderSummary;
+import it.guesser.algashop.ordering.domain.utils.IdGenerator;
+import it.guesser.algashop.ordering.domain.valueobject.Money;
+import it.guesser.algashop.ordering.domain.valueobject.Quantity;
+import it.guesser.algashop.ordering.infrastructure.persistence.entity.OrderItemPersistenceEntity;
 import it.guesser.algashop.ordering.infrastructure.persistence.entity.OrderPersistenceEntity;
+import it.guesser.algashop.ordering.infrastructure.persistence.repository.OrderSummaryRow;
 
 class OrdemPersistenceEntityDisassemblerTest {
 
@@ -36,5 +45,50 @@ class OrdemPersistenceEntityDisassemblerTest {
             assertThat(o.getPaymentMethod()).isEqualTo(PaymentMethod.valueOf(entity.getPaymentMethod()));
         });
     }
-}
 
+    @Test
+    void givenOrderPersistenceEntityWithItems_whenToDomain_thenItemsAreMappedCorrectly() {
+        OrderPersistenceEntity entity = anOrderPersistenceEntity().build();
+        OrderItemPersistenceEntity item = OrderItemPersistenceEntity.builder()
+                .id(IdGenerator.generateTSID().toLong())
+                .order(entity)
+                .productId(IdGenerator.generateTimeBasedUuid())
+                .productName("Product")
+                .productPrice(new BigDecimal("10.00"))
+                .quantity(2)
+                .totalAmount(new BigDecimal("20.00"))
+                .build();
+        entity.getItems().add(item);
+
+        Order order = disassembler.toDomain(entity);
+
+        assertThat(order.getItems()).singleElement().satisfies(oi -> {
+            assertThat(oi.getId().value().toLong()).isEqualTo(item.getId());
+            assertThat(oi.getOrderId()).isEqualTo(order.getId());
+            assertThat(oi.getProductId().value()).isEqualTo(item.getProductId());
+            assertThat(oi.getProductName().value()).isEqualTo(item.getProductName());
+            assertThat(oi.getProductPrice().value()).isEqualByComparingTo(item.getProductPrice());
+            assertThat(oi.getQuantity().value()).isEqualTo(item.getQuantity());
+            assertThat(oi.getTotalAmount().value()).isEqualByComparingTo(item.getTotalAmount());
+        });
+    }
+
+    @Test
+    void givenOrderSummaryRow_whenToSummary_thenColumnsAreMappedToDomainTypes() {
+        long id = IdGenerator.generateTSID().toLong();
+        UUID customerId = IdGenerator.generateTimeBasedUuid();
+        OrderSummaryRow row = new OrderSummaryRow(id, customerId, OrderStatus.PAID.name(), new BigDecimal("310.5"), 3,
+                1L, 2L, 0L, 0L);
+
+        OrderSummary summary = disassembler.toSummary(row);
+
+        assertThat(summary.id().value().toLong()).isEqualTo(id);
+        assertThat(summary.customerId().value()).isEqualTo(customerId);
+        assertThat(summary.status()).isEqualTo(OrderStatus.PAID);
+        assertThat(summary.totalAmount()).isEqualTo(new Money("310.50"));
+        assertThat(summary.totalItems()).isEqualTo(Quantity.of(3));
+        assertThat(summary.placedAt()).isEqualTo(1L);
+        assertThat(summary.paidAt()).isEqualTo(2L);
+    }
+
+}
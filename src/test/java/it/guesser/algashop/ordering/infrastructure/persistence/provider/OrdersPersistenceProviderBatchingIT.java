@@ -0,0 +1,173 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import it.guesser.algashop.ordering.domain.entity.Order;
+import it.guesser.algashop.ordering.domain.entity.OrderStatus;
+import it.guesser.algashop.ordering.domain.entity.OrderTestDataBuilder;
+import it.guesser.algashop.ordering.domain.valueobject.Money;
+import it.guesser.algashop.ordering.domain.valueobject.Product;
+import it.guesser.algashop.ordering.domain.valueobject.ProductName;
+import it.guesser.algashop.ordering.domain.valueobject.Quantity;
+import it.guesser.algashop.ordering.domain.valueobject.id.OrderId;
+import it.guesser.algashop.ordering.domain.valueobject.id.ProductId;
+import it.guesser.algashop.ordering.infrastructure.persistence.assembler.OrderPersistenceEntityAssembler;
+import it.guesser.algashop.ordering.infrastructure.persistence.cache.OrderSnapshotCache;
+import it.guesser.algashop.ordering.infrastructure.persistence.config.SpringDataAuditingConfig;
+import it.guesser.algashop.ordering.infrastructure.persistence.disassembler.OrderPersistenceEntityDisassembler;
+import it.guesser.algashop.ordering.infrastructure.persistence.repository.OrderPersistenceEntityRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/*
+ * Statement counts of the per-aggregate path (pre-read + saveAndFlush, as it was before saveAll existed)
+ * and of the batched saveAll/ofIds path. With JDBC batching every batch is one prepared statement,
+ * so the counts below are the number of batches per statement type.
+ */
+@DataJpaTest
+@Import({OrdersPersistenceProvider.class, OrderPersistenceEntityAssembler.class, OrderPersistenceEntityDisassembler.class, OrderSnapshotCache.class, SpringDataAuditingConfig.class})
+class OrdersPersistenceProviderBatchingIT {
+
+    private static final int AGGREGATES = 200;
+
+    private final OrdersPersistenceProvider ordersPersistenceProvider;
+    private final OrderPersistenceEntityRepository orderPersistenceEntityRepository;
+    private final OrderPersistenceEntityAssembler assembler;
+    private final EntityManager entityManager;
+    private final Statistics statistics;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Autowired
+    public OrdersPersistenceProviderBatchingIT(OrdersPersistenceProvider ordersPersistenceProvider,
+            OrderPersistenceEntityRepository orderPersistenceEntityRepository,
+            OrderPersistenceEntityAssembler assembler,
+            EntityManager entityManager,
+            EntityManagerFactory entityManagerFactory) {
+        this.ordersPersistenceProvider = ordersPersistenceProvider;
+        this.orderPersistenceEntityRepository = orderPersistenceEntityRepository;
+        this.assembler = assembler;
+        this.entityManager = entityManager;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void givenManyNewOrders_whenSaveAll_thenStatementsPerAggregateAreBelowPerAggregatePath() {
+        List<Order> perAggregateOrders = newOrders();
+        statistics.clear();
+        perAggregateOrders.forEach(order -> {
+            orderPersistenceEntityRepository.findById(order.getId().value().toLong());
+            orderPersistenceEntityRepository.saveAndFlush(assembler.fromDomain(order));
+        });
+        long perAggregateStatements = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+
+        List<Order> batchedOrders = newOrders();
+        int items = itemsOf(batchedOrders);
+        statistics.clear();
+        ordersPersistenceProvider.saveAll(batchedOrders);
+
+        // per chunk: one order insert batch and the item insert batches
+        assertThat(perAggregateStatements).isGreaterThanOrEqualTo(2L * AGGREGATES);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(AGGREGATES + items);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(chunks() * (1 + batchesOf(items / chunks())));
+        assertThat(batchedOrders).allSatisfy(order -> assertThat(order.getVersion()).isEqualTo(1L));
+    }
+
+    @Test
+    void givenPersistedOrders_whenSaveAllAgain_thenTheyAreUpdatedInBatches() {
+        List<Order> orders = newOrders();
+        ordersPersistenceProvider.saveAll(orders);
+
+        orders.forEach(Order::markAsPaid);
+        statistics.clear();
+        ordersPersistenceProvider.saveAll(orders);
+
+        // per chunk: one select of the current rows and one update batch
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(AGGREGATES);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2L * chunks());
+        assertThat(orders).allSatisfy(order -> assertThat(order.getVersion()).isEqualTo(2L));
+        assertThat(ordersPersistenceProvider.ofIds(orders.stream().map(Order::getId).toList()))
+                .hasSize(AGGREGATES)
+                .allSatisfy(order -> assertThat(order.isPaid()).isTrue());
+    }
+
+    @Test
+    void givenPersistedOrders_whenOfIds_thenOrdersAreFetchedInChunks() {
+        List<Order> orders = newOrders();
+        ordersPersistenceProvider.saveAll(orders);
+        List<OrderId> ids = orders.stream().map(Order::getId).toList();
+
+        entityManager.clear();
+        statistics.clear();
+        List<Order> found = ordersPersistenceProvider.ofIds(ids);
+
+        // per chunk: one select of the orders and one subselect of their items
+        assertThat(found).extracting(Order::getId).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2L * chunks());
+    }
+
+    @Test
+    void givenThousandOrdersWithTenItemsEach_whenOfIds_thenItemsAreLoadedWithoutNPlusOne() {
+        List<Order> orders = IntStream.range(0, 1_000)
+                .mapToObj(i -> anOrderWithItems(10))
+                .toList();
+        ordersPersistenceProvider.saveAll(orders);
+        entityManager.clear();
+
+        statistics.clear();
+        List<Order> found = ordersPersistenceProvider.ofIds(orders.stream().map(Order::getId).toList());
+
+        // one query for the orders of each chunk plus one subselect for their items
+        long chunks = batchesOf(orders.size());
+
+        assertThat(found).hasSize(1_000).allSatisfy(order -> assertThat(order.getItems()).hasSize(10));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2 * chunks);
+    }
+
+    private Order anOrderWithItems(int items) {
+        Order order = OrderTestDataBuilder.anOrder().withItems(false).withStatus(OrderStatus.DRAFT).build();
+        IntStream.range(0, items).forEach(i -> order.addItem(
+                new Product(new ProductId(), new ProductName("Product " + i), new Money("10.00"), true),
+                new Quantity(1)));
+        return order;
+    }
+
+    private List<Order> newOrders() {
+        return IntStream.range(0, AGGREGATES)
+                .mapToObj(i -> OrderTestDataBuilder.anOrder().withStatus(OrderStatus.PLACED).build())
+                .toList();
+    }
+
+    private static int itemsOf(List<Order> orders) {
+        return orders.stream().mapToInt(order -> order.getItems().size()).sum();
+    }
+
+    private long chunks() {
+        return batchesOf(AGGREGATES);
+    }
+
+    private long batchesOf(long rows) {
+        return (rows + batchSize - 1) / batchSize;
+    }
+
+}
@@ -3,10 +3,23 @@ package it.guesser.algashop.ordering.infrastructure.persistence.provider;
 import it.guesser.algashop.ordering.domain.entity.Order;
 import it.guesser.algashop.ordering.domain.entity.OrderStatus;
 import it.guesser.algashop.ordering.domain.entity.OrderTestDataBuilder;
+import it.guesser.algashop.ordering.domain.valueobject.Billing;
+import it.guesser.algashop.ordering.domain.valueobject.Money;
+import it.guesser.algashop.ordering.domain.valueobject.ProductDataTestBuilder;
+import it.guesser.algashop.ordering.domain.valueobject.Quantity;
+import it.guesser.algashop.ordering.domain.valueobject.Shipping;
+import it.guesser.algashop.ordering.domain.valueobject.ShippingTestDataBuilder;
+import it.guesser.algashop.ordering.infrastructure.auditing.AuditingContext;
 import it.guesser.algashop.ordering.infrastructure.persistence.assembler.OrderPersistenceEntityAssembler;
+import it.guesser.algashop.ordering.infrastructure.persistence.cache.OrderSnapshot;
+import it.guesser.algashop.ordering.infrastructure.persistence.cache.OrderSnapshotCache;
 import it.guesser.algashop.ordering.infrastructure.persistence.config.SpringDataAuditingConfig;
+import it.guesser.algashop.ordering.infrastructure.persistence.config.UnversionedRowsMigration;
 import it.guesser.algashop.ordering.infrastructure.persistence.disassembler.OrderPersistenceEntityDisassembler;
 import it.guesser.algashop.ordering.infrastructure.persistence.repository.OrderPersistenceEntityRepository;
+import jakarta.persistence.EntityManager;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,16 +27,24 @@ import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.context.annotation.Import;
 
 @DataJpaTest
-@Import({OrdersPersistenceProvider.class, OrderPersistenceEntityAssembler.class, OrderPersistenceEntityDisassembler.class, SpringDataAuditingConfig.class})
+@Import({OrdersPersistenceProvider.class, OrderPersistenceEntityAssembler.class, OrderPersistenceEntityDisassembler.class, OrderSnapshotCache.class, SpringDataAuditingConfig.class,
+        UnversionedRowsMigration.class})
 class OrdersPersistenceProviderIT {
 
     private OrdersPersistenceProvider ordersPersistenceProvider;
     private OrderPersistenceEntityRepository orderPersistenceEntityRepository;
+    private EntityManager entityManager;
+    private UnversionedRowsMigration unversionedRowsMigration;
+    private OrderSnapshotCache orderSnapshotCache;
 
     @Autowired
-    public OrdersPersistenceProviderIT(OrdersPersistenceProvider ordersPersistenceProvider, OrderPersistenceEntityRepository orderPersistenceEntityRepository) {
+    public OrdersPersistenceProviderIT(OrdersPersistenceProvider ordersPersistenceProvider, OrderPersistenceEntityRepository orderPersistenceEntityRepository,
+            EntityManager entityManager, UnversionedRowsMigration unversionedRowsMigration, OrderSnapshotCache orderSnapshotCache) {
         this.ordersPersistenceProvider = ordersPersistenceProvider;
         this.orderPersistenceEntityRepository = orderPersistenceEntityRepository;
+        this.entityManager = entityManager;
+        this.unversionedRowsMigration = unversionedRowsMigration;
+        this.orderSnapshotCache = orderSnapshotCache;
     }
 
     @Test
@@ -53,4 +74,228 @@ class OrdersPersistenceProviderIT {
         Assertions.assertThat(persistenceEntity.getLastModifiedByUserId()).isNotNull();
     }
 
-}
\ No newline at end of file
+    @Test
+    void givenBoundUser_whenSaved_thenItIsAuditedAsCreatorAndLastModifier() {
+        UUID creator = UUID.randomUUID();
+        UUID modifier = UUID.randomUUID();
+        Order order = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.PLACED).build();
+        long orderId = order.getId().value().toLong();
+
+        AuditingContext.runAs(creator, () -> ordersPersistenceProvider.save(order));
+        AuditingContext.runAs(modifier, () -> {
+            Order loaded = ordersPersistenceProvider.ofId(order.getId()).orElseThrow();
+            loaded.markAsPaid();
+            ordersPersistenceProvider.save(loaded);
+        });
+
+        var persistenceEntity = orderPersistenceEntityRepository.findById(orderId).orElseThrow();
+        Assertions.assertThat(persistenceEntity.getCreateByUserId()).isEqualTo(creator);
+        Assertions.assertThat(persistenceEntity.getLastModifiedByUserId()).isEqualTo(modifier);
+    }
+
+    @Test
+    void givenNoBoundUser_whenSaved_thenItIsAuditedAsSystemUser() {
+        Order order = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.PLACED).build();
+
+        ordersPersistenceProvider.save(order);
+
+        var persistenceEntity = orderPersistenceEntityRepository.findById(order.getId().value().toLong()).orElseThrow();
+        Assertions.assertThat(persistenceEntity.getCreateByUserId()).isEqualTo(AuditingContext.SYSTEM_USER_ID);
+    }
+
+    @Test
+    void shouldDecideInsertOrUpdateFromAggregateVersion() {
+        Order order = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.PLACED).build();
+        Assertions.assertThat(order.getVersion()).isZero();
+
+        ordersPersistenceProvider.save(order);
+        Assertions.assertThat(order.getVersion()).isEqualTo(1L);
+
+        order.markAsPaid();
+        ordersPersistenceProvider.save(order);
+        Assertions.assertThat(order.getVersion()).isEqualTo(2L);
+
+        var persistenceEntity = orderPersistenceEntityRepository.findById(order.getId().value().toLong()).orElseThrow();
+        Assertions.assertThat(persistenceEntity.getVersion()).isEqualTo(2L);
+        Assertions.assertThat(persistenceEntity.getStatus()).isEqualTo(OrderStatus.PAID.name());
+    }
+
+    @Test
+    void shouldOnlyWriteColumnsOfChangedFields() {
+        Order order = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.PLACED).build();
+        long orderId = order.getId().value().toLong();
+        ordersPersistenceProvider.save(order);
+
+        // changed behind the aggregate back, a full row update would overwrite it
+        entityManager.createQuery("update OrderPersistenceEntity o set o.totalItems = 999 where o.id = :id")
+                .setParameter("id", orderId)
+                .executeUpdate();
+        entityManager.clear();
+
+        order.markAsPaid();
+        ordersPersistenceProvider.save(order);
+
+        var persistenceEntity = orderPersistenceEntityRepository.findById(orderId).orElseThrow();
+        Assertions.assertThat(persistenceEntity.getStatus()).isEqualTo(OrderStatus.PAID.name());
+        Assertions.assertThat(persistenceEntity.getPaidAt()).isEqualTo(order.getPaidAt());
+        Assertions.assertThat(persistenceEntity.getTotalItems()).isEqualTo(999);
+        Assertions.assertThat(order.hasChanges()).isFalse();
+    }
+
+    @Test
+    void shouldNotWriteUnchangedOrder() {
+        Order order = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.PLACED).build();
+        ordersPersistenceProvider.save(order);
+
+        ordersPersistenceProvider.save(order);
+
+        Assertions.assertThat(order.getVersion()).isEqualTo(1L);
+        var persistenceEntity = orderPersistenceEntityRepository.findById(order.getId().value().toLong()).orElseThrow();
+        Assertions.assertThat(persistenceEntity.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void givenRowWrittenBeforeVersionsStartedAtOne_whenMigratedAndSaved_thenItIsUpdatedNotInsertedAgain() {
+        Order order = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.PLACED).build();
+        long orderId = order.getId().value().toLong();
+        ordersPersistenceProvider.save(order);
+        entityManager.flush();
+        entityManager.createQuery("update OrderPersistenceEntity o set o.version = 0 where o.id = :id")
+                .setParameter("id", orderId)
+                .executeUpdate();
+        entityManager.clear();
+
+        unversionedRowsMigration.afterPropertiesSet();
+        Order legacy = ordersPersistenceProvider.ofId(order.getId()).orElseThrow();
+        legacy.markAsPaid();
+        ordersPersistenceProvider.save(legacy);
+
+        Assertions.assertThat(legacy.getVersion()).isEqualTo(2L);
+        var persistenceEntity = orderPersistenceEntityRepository.findById(orderId).orElseThrow();
+        Assertions.assertThat(persistenceEntity.getStatus()).isEqualTo(OrderStatus.PAID.name());
+        Assertions.assertThat(persistenceEntity.getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    void givenSavedOrder_whenLoadedFromDatabase_thenItMatchesWhatACacheHitReturns() {
+        Order order = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.PLACED).build();
+        ordersPersistenceProvider.save(order);
+        entityManager.flush();
+        entityManager.clear();
+
+        // the cache is only filled after commit, so this read goes to the database
+        Order miss = ordersPersistenceProvider.ofId(order.getId()).orElseThrow();
+        Order hit = OrderSnapshot.of(order).toDomain();
+
+        Assertions.assertThat(miss.getBilling()).isNotNull();
+        Assertions.assertThat(miss.getShipping()).isNotNull();
+        Assertions.assertThat(miss).usingRecursiveComparison().ignoringCollectionOrder().isEqualTo(hit);
+    }
+
+    @Test
+    void givenChangedBillingAndShipping_whenSaved_thenTheyAreWrittenAndReloaded() {
+        Order order = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.DRAFT).build();
+        ordersPersistenceProvider.save(order);
+        Billing billing = OrderTestDataBuilder.billing("Mary Jane Watson", "98765432100", "555-9876",
+                ShippingTestDataBuilder.anAddress(), OrderTestDataBuilder.anEmail());
+        Shipping shipping = ShippingTestDataBuilder.shipping("Peter Parker", "11122233344", "555-0000",
+                "Ingram St", null, "Forest Hills", "New York", "NY", "11375");
+
+        order.changeBilling(billing);
+        order.changeShipping(shipping);
+        ordersPersistenceProvider.save(order);
+        entityManager.flush();
+        entityManager.clear();
+
+        Order reloaded = ordersPersistenceProvider.ofId(order.getId()).orElseThrow();
+        Assertions.assertThat(reloaded.getBilling()).isEqualTo(billing);
+        Assertions.assertThat(reloaded.getShipping()).isEqualTo(shipping);
+    }
+
+    @Test
+    void givenOtherManagedEntities_whenUpdateIsSaved_thenOnlyTheUpdatedRowIsDetached() {
+        Order order = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.PLACED).build();
+        Order other = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.PLACED).build();
+        ordersPersistenceProvider.save(order);
+        ordersPersistenceProvider.save(other);
+        entityManager.flush();
+        entityManager.clear();
+
+        var otherEntity = orderPersistenceEntityRepository.findById(other.getId().value().toLong()).orElseThrow();
+        var staleEntity = orderPersistenceEntityRepository.findById(order.getId().value().toLong()).orElseThrow();
+        Order loaded = ordersPersistenceProvider.ofId(order.getId()).orElseThrow();
+        loaded.markAsPaid();
+        ordersPersistenceProvider.save(loaded);
+
+        Assertions.assertThat(entityManager.contains(otherEntity)).isTrue();
+        Assertions.assertThat(entityManager.contains(staleEntity)).isFalse();
+    }
+
+    @Test
+    void givenOtherManagedEntities_whenItemsChangeAndAreSaved_thenOnlyThatOrderAndItsItemsAreDetached() {
+        Order order = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.DRAFT).build();
+        Order other = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.DRAFT).build();
+        ordersPersistenceProvider.save(order);
+        ordersPersistenceProvider.save(other);
+        entityManager.flush();
+        entityManager.clear();
+
+        var otherEntity = orderPersistenceEntityRepository.findById(other.getId().value().toLong()).orElseThrow();
+        var otherItem = otherEntity.getItems().iterator().next();
+        var staleEntity = orderPersistenceEntityRepository.findById(order.getId().value().toLong()).orElseThrow();
+        var staleItem = staleEntity.getItems().iterator().next();
+        Order loaded = ordersPersistenceProvider.ofId(order.getId()).orElseThrow();
+        loaded.addItem(ProductDataTestBuilder.aProductInStock(), new Quantity(1));
+        ordersPersistenceProvider.save(loaded);
+
+        Assertions.assertThat(entityManager.contains(otherEntity)).isTrue();
+        Assertions.assertThat(entityManager.contains(otherItem)).isTrue();
+        Assertions.assertThat(entityManager.contains(staleEntity)).isFalse();
+        Assertions.assertThat(entityManager.contains(staleItem)).isFalse();
+    }
+
+    @Test
+    void givenReloadedOrderWithShippingCost_whenShippingIsChanged_thenTheOldCostIsReplacedNotAdded() {
+        Order order = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.DRAFT)
+                .withShipping(ShippingTestDataBuilder.aShipping().withCost(new Money("10.00")).build())
+                .build();
+        Money itemsTotalAmount = order.getTotalAmount().subtract(new Money("10.00"));
+        ordersPersistenceProvider.save(order);
+        entityManager.flush();
+        entityManager.clear();
+
+        Order reloaded = ordersPersistenceProvider.ofId(order.getId()).orElseThrow();
+        reloaded.changeShipping(ShippingTestDataBuilder.aShipping().withCost(new Money("20.00")).build());
+        ordersPersistenceProvider.save(reloaded);
+        entityManager.flush();
+        entityManager.clear();
+
+        Order saved = ordersPersistenceProvider.ofId(order.getId()).orElseThrow();
+        Assertions.assertThat(saved.getTotalAmount()).isEqualTo(itemsTotalAmount.add(new Money("20.00")));
+        Assertions.assertThat(saved.getShipping().cost()).isEqualTo(new Money("20.00"));
+    }
+
+    @Test
+    void givenCachedOrder_whenSavedThenReadAndSavedAgainInOneTransaction_thenTheSecondSaveSeesTheNewVersion() {
+        Order order = OrderTestDataBuilder.anOrder().withStatus(OrderStatus.PLACED).build();
+        ordersPersistenceProvider.save(order);
+        entityManager.flush();
+        entityManager.clear();
+        // cached outside this transaction, as a reader of the committed row would
+        CompletableFuture.runAsync(() -> orderSnapshotCache.put(order)).join();
+
+        Order loaded = ordersPersistenceProvider.ofId(order.getId()).orElseThrow();
+        loaded.markAsPaid();
+        ordersPersistenceProvider.save(loaded);
+
+        Order reloaded = ordersPersistenceProvider.ofId(order.getId()).orElseThrow();
+        Assertions.assertThat(reloaded.getVersion()).isEqualTo(2L);
+        reloaded.markAsReady();
+        ordersPersistenceProvider.save(reloaded);
+
+        Assertions.assertThat(reloaded.getVersion()).isEqualTo(3L);
+        Assertions.assertThat(orderPersistenceEntityRepository.findById(order.getId().value().toLong()).orElseThrow()
+                .getStatus()).isEqualTo(OrderStatus.READY.name());
+    }
+
+}
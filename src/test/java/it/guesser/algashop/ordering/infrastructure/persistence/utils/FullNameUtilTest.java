@@ -5,7 +5,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.Random;
+import java.util.function.Predicate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -45,5 +48,52 @@ class FullNameUtilTest {
 
     }
 
+    @Nested
+    @DisplayName("Equivalence with the split based implementation")
+    class SplitEquivalenceTests {
+
+        private static final char[] ALPHABET = {' ', ' ', ' ', '\t', '\u0001', '\u2003', 'a', 'B', 'c', '\'', '-'};
+
+        // Property: on random names the results are the same as String.split(" ") plus streams
+        @Test
+        void givenRandomNames_whenGetFirstAndLastName_thenMatchesSplitImplementation() {
+            Random random = new Random(20_250_101L);
+
+            for (int i = 0; i < 20_000; i++) {
+                String value = randomName(random);
+                if (value.isBlank() || value.trim().isEmpty()) {
+                    continue;
+                }
+                FullName fullName = new FullName(value);
+                String[] names = fullName.fullName().split(" ");
+
+                assertThat(FullNameUtil.getFirstName(fullName)).as("[%s]", value).isEqualTo(splitFirstName(names));
+                assertThat(FullNameUtil.getLastName(fullName)).as("[%s]", value).isEqualTo(splitLastName(names));
+            }
+        }
+
+        private Optional<String> splitFirstName(String[] names) {
+            return names.length < 1 ? Optional.empty() : Optional.of(names[0].trim());
+        }
+
+        private Optional<String> splitLastName(String[] names) {
+            if (names.length <= 1) {
+                return Optional.empty();
+            }
+            return Optional.of(String.join(" ", Arrays.stream(Arrays.copyOfRange(names, 1, names.length))
+                    .filter(Predicate.not(String::isBlank))
+                    .map(String::trim)
+                    .toList()));
+        }
+
+        private String randomName(Random random) {
+            char[] chars = new char[1 + random.nextInt(12)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+            }
+            return new String(chars);
+        }
+
+    }
 
-}
\ No newline at end of file
+}
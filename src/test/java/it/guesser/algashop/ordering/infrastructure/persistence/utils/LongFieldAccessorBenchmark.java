@@ -0,0 +1,74 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.utils;
+
+import static it.guesser.algashop.ordering.domain.entity.OrderTestDataBuilder.anOrder;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Field;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.ReflectionUtils;
+
+import it.guesser.algashop.ordering.domain.entity.Order;
+import it.guesser.algashop.ordering.domain.entity.OrderStatus;
+
+/*
+ * Cost of writing Order.version: the lookup + setAccessible + ReflectionUtils.setField done on every save before,
+ * a cached Field, and the precomputed VarHandle behind AggregateFieldAccessors.
+ * Runs with the benchmarks profile only (mvn test -Pbenchmarks), numbers are printed for comparison between runs.
+ */
+class LongFieldAccessorBenchmark {
+
+    private static final int WARMUP_WRITES = 200_000;
+    private static final int WRITES = 5_000_000;
+
+    @Test
+    void varHandleVersusReflection() throws NoSuchFieldException {
+        Order order = anOrder().withStatus(OrderStatus.DRAFT).build();
+        Field cachedField = Order.class.getDeclaredField("version");
+        cachedField.setAccessible(true);
+
+        writeWithLookup(order, WARMUP_WRITES);
+        writeWithCachedField(order, cachedField, WARMUP_WRITES);
+        writeWithVarHandle(order, WARMUP_WRITES);
+
+        long start = System.nanoTime();
+        writeWithLookup(order, WRITES);
+        long lookupNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        writeWithCachedField(order, cachedField, WRITES);
+        long cachedFieldNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        writeWithVarHandle(order, WRITES);
+        long varHandleNanos = System.nanoTime() - start;
+
+        System.out.printf("Order.version write ns/op: lookup+setAccessible=%.1f cached Field=%.1f VarHandle=%.1f%n",
+                (double) lookupNanos / WRITES, (double) cachedFieldNanos / WRITES, (double) varHandleNanos / WRITES);
+
+        assertThat(order.getVersion()).isEqualTo(WRITES - 1L);
+    }
+
+    // What OrdersPersistenceProvider.updateVersion did before the accessors
+    private static void writeWithLookup(Order order, int writes) throws NoSuchFieldException {
+        for (int i = 0; i < writes; i++) {
+            Field version = order.getClass().getDeclaredField("version");
+            version.setAccessible(true);
+            ReflectionUtils.setField(version, order, (long) i);
+            version.setAccessible(false);
+        }
+    }
+
+    private static void writeWithCachedField(Order order, Field version, int writes) {
+        for (int i = 0; i < writes; i++) {
+            ReflectionUtils.setField(version, order, (long) i);
+        }
+    }
+
+    private static void writeWithVarHandle(Order order, int writes) {
+        for (int i = 0; i < writes; i++) {
+            AggregateFieldAccessors.ORDER_VERSION.set(order, i);
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.utils;
+
+import static it.guesser.algashop.ordering.domain.entity.OrderTestDataBuilder.anOrder;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import it.guesser.algashop.ordering.domain.entity.Order;
+import it.guesser.algashop.ordering.domain.entity.OrderStatus;
+import it.guesser.algashop.ordering.domain.entity.ShoppingCart;
+import it.guesser.algashop.ordering.domain.valueobject.id.CustomerId;
+
+class LongFieldAccessorTest {
+
+    @Test
+    void givenOrder_whenSetVersion_thenVersionIsWritten() {
+        Order order = anOrder().withStatus(OrderStatus.DRAFT).build();
+
+        AggregateFieldAccessors.ORDER_VERSION.set(order, 7L);
+
+        assertThat(order.getVersion()).isEqualTo(7L);
+        assertThat(AggregateFieldAccessors.ORDER_VERSION.get(order)).isEqualTo(7L);
+    }
+
+    @Test
+    void givenShoppingCart_whenSetPersistenceManagedFields_thenTheyAreWritten() {
+        ShoppingCart shoppingCart = ShoppingCart.startShopping(new CustomerId());
+
+        AggregateFieldAccessors.SHOPPING_CART_VERSION.set(shoppingCart, 3L);
+        AggregateFieldAccessors.SHOPPING_CART_CREATED_AT.set(shoppingCart, 1_000L);
+
+        assertThat(shoppingCart.getVersion()).isEqualTo(3L);
+        assertThat(shoppingCart.getCreatedAt()).isEqualTo(1_000L);
+    }
+
+    @Test
+    void givenUnknownField_whenOf_thenThrowsIllegalStateException() {
+        assertThatThrownBy(() -> LongFieldAccessor.of(Order.class, "unknown"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void givenNullTarget_whenSet_thenThrowsNullPointerException() {
+        assertThatThrownBy(() -> AggregateFieldAccessors.ORDER_VERSION.set(null, 1L))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+}
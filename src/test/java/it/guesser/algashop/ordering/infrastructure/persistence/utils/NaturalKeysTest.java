@@ -0,0 +1,23 @@
+package it.guesser.algashop.ordering.infrastructure.persistence.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import it.guesser.algashop.ordering.domain.valueobject.Document;
+import it.guesser.algashop.ordering.domain.valueobject.Email;
+
+class NaturalKeysTest {
+
+    @Test
+    void givenMixedCaseEmail_whenNormalize_thenReturnsLowerCase() {
+        assertThat(NaturalKeys.normalize(new Email("John.Doe@Example.COM"))).isEqualTo("john.doe@example.com");
+    }
+
+    @Test
+    void givenFormattedDocument_whenNormalize_thenKeepsOnlyLettersAndDigits() {
+        assertThat(NaturalKeys.normalize(new Document("123.456.789-00"))).isEqualTo("12345678900");
+        assertThat(NaturalKeys.normalize(new Document("ab-12 cd"))).isEqualTo("AB12CD");
+    }
+
+}